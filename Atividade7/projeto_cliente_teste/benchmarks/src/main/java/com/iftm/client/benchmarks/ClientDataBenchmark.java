@@ -0,0 +1,164 @@
+package com.iftm.client.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import com.iftm.client.DsclientApplication;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.services.ClientService;
+
+/**
+ * Mede {@code ClientService.findAllPaged} e as consultas de renda e nome do
+ * {@link ClientRepository} contra um H2 em memória ({@code bench}) populado com
+ * exatamente {@code rows} clientes, sem log de SQL. Cada valor de {@code rows} roda em um fork próprio, com o contexto
+ * Spring e a carga feitos uma vez no {@code @Setup}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx8g" })
+@State(Scope.Benchmark)
+public class ClientDataBenchmark {
+
+	private static final String[] FIRST_NAMES = { "Conceição", "Lázaro", "Clarice", "Carolina", "Gilberto",
+			"Djamila", "Jose", "Toni", "Yuval", "Chimamanda", "Silvio", "Jorge" };
+	private static final String[] LAST_NAMES = { "Evaristo", "Ramos", "Lispector", "de Jesus", "Gil", "Ribeiro",
+			"Saramago", "Morrison", "Harari", "Adichie", "Almeida", "Amado" };
+	private static final int CHUNK = 10_000;
+
+	@Param({ "10000", "1000000", "10000000" })
+	public int rows;
+
+	private ConfigurableApplicationContext context;
+	private ClientService service;
+	private ClientRepository repository;
+	private PageRequest firstPage;
+	private PageRequest deepPage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// como argumentos de linha de comando, e não properties(...), para valer
+		// também sobre o application-test.properties do perfil ativo
+		context = new SpringApplicationBuilder(DsclientApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+						"--spring.r2dbc.url=r2dbc:h2:mem:///bench",
+						"--spring.jpa.show-sql=false",
+						"--spring.jpa.hibernate.ddl-auto=create-drop",
+						// sem o import.sql: a tabela tem exatamente rows clientes
+						"--spring.jpa.properties.hibernate.hbm2ddl.import_files=",
+						"--client.sql.log.sample-rate=0",
+						"--logging.level.root=WARN");
+		service = context.getBean(ClientService.class);
+		repository = context.getBean(ClientRepository.class);
+		seed();
+		firstPage = PageRequest.of(0, 12, Direction.ASC, "name");
+		deepPage = PageRequest.of((rows / 12) - 1, 12, Direction.ASC, "name");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	private void seed() {
+		List<Client> chunk = new ArrayList<>(CHUNK);
+		for (int i = 0; i < rows; i++) {
+			String name = FIRST_NAMES[i % FIRST_NAMES.length] + " "
+					+ LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " " + i;
+			chunk.add(new Client(null, name, String.format("%011d", i), 1000.0 + (i % 200) * 50.0,
+					Instant.parse("1950-01-01T00:00:00Z").plusSeconds(i * 3_600L), i % 5));
+			if (chunk.size() == CHUNK) {
+				repository.batchInsert(chunk);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			repository.batchInsert(chunk);
+		}
+	}
+
+	@Benchmark
+	public Page<ClientDTO> findAllPagedFirstPage() {
+		return service.findAllPaged(firstPage);
+	}
+
+	@Benchmark
+	public Page<ClientDTO> findAllPagedDeepPage() {
+		return service.findAllPaged(deepPage);
+	}
+
+	/**
+	 * Caminho antigo de {@code findAllPaged}: carrega as entidades e copia
+	 * para DTO. Compare com {@link #findAllPagedFirstPage}, que usa a consulta
+	 * com expressão de construtor; rode com {@code -prof gc} para ver a alocação.
+	 */
+	@Benchmark
+	public Page<ClientDTO> findAllEntitiesFirstPage() {
+		return repository.findAll(firstPage).map(x -> new ClientDTO(x));
+	}
+
+	@Benchmark
+	public Page<Client> findByIncome() {
+		return repository.findByIncome(2500.0, firstPage);
+	}
+
+	@Benchmark
+	public Page<ClientDTO> findDtoByIncome() {
+		return repository.findDtoByIncome(2500.0, firstPage);
+	}
+
+	@Benchmark
+	public Page<Client> findByIncomeGreaterThan() {
+		return repository.findByIncomeGreaterThan(10500.0, firstPage);
+	}
+
+	@Benchmark
+	public Page<ClientDTO> findDtoByIncomeGreaterThan() {
+		return repository.findDtoByIncomeGreaterThan(10500.0, firstPage);
+	}
+
+	@Benchmark
+	public List<Client> findClientsByIncomeBetween() {
+		return repository.findClientsByIncomeBetween(10950.0, 10950.0);
+	}
+
+	@Benchmark
+	public List<Client> findClientsByNameContaining() {
+		return repository.findByNameSearchContaining("lispector 9", PageRequest.of(0, 12));
+	}
+
+	@Benchmark
+	public Slice<Client> findByNameSearchStartingWith() {
+		return repository.findByNameSearchStartingWith("clarice lispector 9",
+				PageRequest.of(0, 12, Sort.by("nameSearch")));
+	}
+
+}
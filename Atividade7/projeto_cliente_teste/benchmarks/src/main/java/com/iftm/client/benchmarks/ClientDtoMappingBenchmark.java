@@ -0,0 +1,50 @@
+package com.iftm.client.benchmarks;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+
+/**
+ * Mede a cópia campo a campo de {@link Client} para {@link ClientDTO}, feita
+ * em toda leitura do {@code ClientService}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientDtoMappingBenchmark {
+
+	private Client client;
+
+	@Setup
+	public void setUp() {
+		client = new Client(1L, "Conceição Evaristo", "10619244881", 1500.0,
+				Instant.parse("2020-07-13T20:50:00Z"), 2);
+	}
+
+	@Benchmark
+	public ClientDTO toDto() {
+		return new ClientDTO(client);
+	}
+
+	@Benchmark
+	public Client toEntity() {
+		return new ClientDTO(client).toEntity();
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.iftm.client.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga em laço fechado contra uma instância do {@code dsclient} já
+ * em execução: {@code concurrency} clientes fazem requisições GET seguidas
+ * durante {@code seconds} segundos e, ao final, são impressos a vazão e os
+ * percentis de latência. Serve para comparar o modo padrão (pool de threads do
+ * Tomcat) com {@code client.threads.virtual=true}.
+ * <p>
+ * Uso: {@code java -cp target/benchmarks.jar com.iftm.client.benchmarks.LoadTest
+ * [url] [concurrency] [seconds]}.
+ */
+public class LoadTest {
+
+	public static void main(String[] args) throws Exception {
+		URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/clients/income?income=1500.0");
+		int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+		AtomicLong errors = new AtomicLong();
+
+		// aquecimento curto para JIT e pool de conexões
+		run(client, request, concurrency, System.nanoTime() + Duration.ofSeconds(5).toNanos(), new AtomicLong());
+
+		long start = System.nanoTime();
+		long[] latencies = run(client, request, concurrency, start + Duration.ofSeconds(seconds).toNanos(), errors);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		Arrays.sort(latencies);
+		System.out.printf("url=%s concurrency=%d seconds=%d%n", uri, concurrency, seconds);
+		System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n", latencies.length, errors.get(),
+				latencies.length / elapsed);
+		System.out.printf("p50=%.2f ms p90=%.2f ms p99=%.2f ms max=%.2f ms%n", percentile(latencies, 50),
+				percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 100));
+	}
+
+	private static long[] run(HttpClient client, HttpRequest request, int concurrency, long deadline,
+			AtomicLong errors) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Future<List<Long>>> workers = new ArrayList<>();
+			for (int i = 0; i < concurrency; i++) {
+				workers.add(pool.submit(() -> {
+					List<Long> samples = new ArrayList<>();
+					while (System.nanoTime() < deadline) {
+						long t0 = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() >= 400) {
+								errors.incrementAndGet();
+							}
+						} catch (java.io.IOException e) {
+							errors.incrementAndGet();
+						}
+						samples.add(System.nanoTime() - t0);
+					}
+					return samples;
+				}));
+			}
+			List<Long> all = new ArrayList<>();
+			for (Future<List<Long>> worker : workers) {
+				all.addAll(worker.get());
+			}
+			return all.stream().mapToLong(Long::longValue).toArray();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static double percentile(long[] sorted, int p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1] / 1e6;
+	}
+
+}
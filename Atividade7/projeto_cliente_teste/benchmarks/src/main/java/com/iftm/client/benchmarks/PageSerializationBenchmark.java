@@ -0,0 +1,65 @@
+package com.iftm.client.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.iftm.client.dto.ClientDTO;
+
+/**
+ * Mede a serialização JSON de {@code Page<ClientDTO>}, a resposta de
+ * {@code GET /clients}, com um {@link ObjectMapper} configurado como o do
+ * Spring Boot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageSerializationBenchmark {
+
+	@Param({ "12", "100", "1000" })
+	public int pageSize;
+
+	private ObjectMapper objectMapper;
+	private Page<ClientDTO> page;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		List<ClientDTO> content = new ArrayList<>(pageSize);
+		for (int i = 0; i < pageSize; i++) {
+			content.add(new ClientDTO((long) i, "Cliente " + i, "10619244881", 1500.0 + i,
+					Instant.parse("1990-05-15T10:30:00Z"), i % 4));
+		}
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000_000L);
+	}
+
+	@Benchmark
+	public byte[] serializePage() throws Exception {
+		return objectMapper.writeValueAsBytes(page);
+	}
+
+}
@@ -0,0 +1,204 @@
+package com.iftm.client.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Cache local em memória com limite de tamanho (LRU) e tempo de vida por
+ * entrada. Implementa a abstração {@link org.springframework.cache.Cache}, de
+ * modo que pode ser trocado por um cache compartilhado apenas substituindo o
+ * {@code CacheManager}.
+ * <p>
+ * Duas regras evitam que um valor antigo sobrescreva um mais novo, já que as
+ * leituras do banco e as gravações no cache não são atômicas:
+ * <ul>
+ * <li>com {@code versionOf}, um {@code put} com versão menor que a da entrada
+ * atual é ignorado (duas atualizações que gravam fora de ordem);</li>
+ * <li>o valor carregado em {@link #get(Object, Callable)} só é guardado se
+ * nenhuma gravação ou remoção atingiu a chave durante a carga (a leitura que
+ * viu a linha antes de uma atualização concorrente termina depois dela).</li>
+ * </ul>
+ * A segunda regra vale para {@code @Cacheable(sync = true)}, que usa esse
+ * método.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+	private final String name;
+	private final int maxSize;
+	private final long ttlNanos;
+	private final LongSupplier ticker;
+	private final Function<Object, Long> versionOf;
+	private final Map<Object, Entry> store;
+	// contador de escritas por faixa de chaves, conferido ao fim de cada carga
+	private final long[] writeStamps = new long[64];
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong puts = new AtomicLong();
+
+	public BoundedCache(String name, int maxSize, Duration ttl) {
+		this(name, maxSize, ttl, System::nanoTime, null);
+	}
+
+	/**
+	 * @param versionOf Extrai a versão de um valor ({@code null} quando não é
+	 *                  conhecida), ou {@code null} para não comparar versões.
+	 */
+	public BoundedCache(String name, int maxSize, Duration ttl, Function<Object, Long> versionOf) {
+		this(name, maxSize, ttl, System::nanoTime, versionOf);
+	}
+
+	public BoundedCache(String name, int maxSize, Duration ttl, LongSupplier ticker) {
+		this(name, maxSize, ttl, ticker, null);
+	}
+
+	public BoundedCache(String name, int maxSize, Duration ttl, LongSupplier ticker,
+			Function<Object, Long> versionOf) {
+		super(false);
+		this.name = name;
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.ticker = ticker;
+		this.versionOf = versionOf;
+		this.store = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+				if (size() > BoundedCache.this.maxSize) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return store;
+	}
+
+	@Override
+	protected synchronized Object lookup(Object key) {
+		Entry entry = liveEntry(key);
+		if (entry == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return entry.value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper cached = get(key);
+		if (cached != null) {
+			return (T) cached.get();
+		}
+		long stamp = writeStamp(key);
+		try {
+			T value = valueLoader.call();
+			putIfNotWrittenSince(key, value, stamp);
+			return value;
+		} catch (Exception e) {
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+	}
+
+	@Override
+	public synchronized void put(Object key, Object value) {
+		written(key);
+		if (value == null) {
+			store.remove(key);
+			return;
+		}
+		Entry current = liveEntry(key);
+		if (current != null && isOlder(value, current.value)) {
+			return;
+		}
+		store.put(key, new Entry(toStoreValue(value), ticker.getAsLong() + ttlNanos));
+		puts.incrementAndGet();
+	}
+
+	@Override
+	public synchronized void evict(Object key) {
+		written(key);
+		store.remove(key);
+	}
+
+	@Override
+	public synchronized void clear() {
+		for (int i = 0; i < writeStamps.length; i++) {
+			writeStamps[i]++;
+		}
+		store.clear();
+	}
+
+	private synchronized long writeStamp(Object key) {
+		return writeStamps[stripe(key)];
+	}
+
+	private synchronized void putIfNotWrittenSince(Object key, Object value, long stamp) {
+		if (writeStamps[stripe(key)] == stamp) {
+			put(key, value);
+		}
+	}
+
+	private void written(Object key) {
+		writeStamps[stripe(key)]++;
+	}
+
+	private int stripe(Object key) {
+		return (key.hashCode() & 0x7fffffff) % writeStamps.length;
+	}
+
+	private boolean isOlder(Object value, Object current) {
+		if (versionOf == null) {
+			return false;
+		}
+		Long version = versionOf.apply(value);
+		Long currentVersion = versionOf.apply(current);
+		return version != null && currentVersion != null && version < currentVersion;
+	}
+
+	private Entry liveEntry(Object key) {
+		Entry entry = store.get(key);
+		if (entry != null && entry.expiresAt - ticker.getAsLong() <= 0) {
+			store.remove(key);
+			evictions.incrementAndGet();
+			entry = null;
+		}
+		return entry;
+	}
+
+	public synchronized CacheStats getStats() {
+		return new CacheStats(name, store.size(), maxSize, hits.get(), misses.get(), evictions.get(),
+				puts.get());
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long expiresAt;
+
+		private Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.iftm.client.cache;
+
+import java.io.Serializable;
+
+public class CacheStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private String name;
+	private Integer size;
+	private Integer maxSize;
+	private Long hits;
+	private Long misses;
+	private Long evictions;
+	private Long puts;
+	
+	public CacheStats() {
+	}
+
+	public CacheStats(String name, Integer size, Integer maxSize, Long hits, Long misses, Long evictions,
+			Long puts) {
+		this.name = name;
+		this.size = size;
+		this.maxSize = maxSize;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.puts = puts;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public Integer getMaxSize() {
+		return maxSize;
+	}
+
+	public Long getHits() {
+		return hits;
+	}
+
+	public Long getMisses() {
+		return misses;
+	}
+
+	public Long getEvictions() {
+		return evictions;
+	}
+
+	public Long getPuts() {
+		return puts;
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.iftm.client.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.iftm.client.cache.BoundedCache;
+import com.iftm.client.dto.ClientDTO;
+
+/**
+ * Registra os caches locais da aplicação. O interceptor de cache roda antes do
+ * transacional: um acerto não abre transação e a atualização do cache só
+ * acontece depois do commit.
+ * <p>
+ * O cache de clientes compara a versão dos {@link ClientDTO}: uma leitura que
+ * terminou depois de uma atualização concorrente não devolve ao cache a linha
+ * anterior (ver {@link BoundedCache}).
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+	public static final String CLIENTS = "clients";
+
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${client.cache.max-size:10000}") int maxSize,
+			@Value("${client.cache.ttl:PT5M}") Duration ttl) {
+		SimpleCacheManager manager = new SimpleCacheManager();
+		manager.setCaches(List.of(new BoundedCache(CLIENTS, maxSize, ttl, value -> ((ClientDTO) value).getVersion())));
+		return manager;
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.iftm.client.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Modo de execução opcional ({@code client.threads.virtual=true}) em que o
+ * Tomcat atende cada requisição em uma virtual thread, em vez do pool fixo de
+ * threads do servlet. Como o {@code ClientService} roda na mesma thread da
+ * requisição, as chamadas JPA também passam a rodar em virtual threads; o
+ * limite de concorrência real fica no pool de conexões JDBC
+ * ({@code spring.datasource.hikari.maximum-pool-size}).
+ * <p>
+ * O projeto compila para Java 11, então o executor é obtido por reflexão e o
+ * modo só sobe quando a aplicação roda em Java 21 ou superior. O executor é
+ * encerrado quando o contexto fecha.
+ */
+@Configuration
+@ConditionalOnProperty(name = "client.threads.virtual", havingValue = "true")
+public class ExecutionConfig implements WebMvcConfigurer {
+
+	private final ExecutorService executor = virtualThreadExecutor();
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+		return protocolHandler -> protocolHandler.setExecutor(executor);
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		// respostas assíncronas (GET /clients/export) também usam virtual threads
+		configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+	}
+
+	/**
+	 * Encerra o executor junto com o contexto (o Tomcat já parou nesse ponto),
+	 * para que ele não sobreviva a reinícios do devtools nem aos contextos dos
+	 * testes. Tarefas em andamento terminam; novas são recusadas.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	static ExecutorService virtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("client.threads.virtual=true requires Java 21 or later, running on "
+					+ System.getProperty("java.version"));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create virtual thread executor", e);
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.iftm.client.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.iftm.client.metrics.BoundedCacheMeterBinderProvider;
+import com.iftm.client.metrics.SqlMetricsInterceptor;
+import com.iftm.client.metrics.SqlStatementCounter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas da aplicação, expostas em {@code /actuator/metrics}: além dos
+ * tempos por endpoint ({@code http.server.requests}) do Spring Boot, publica
+ * os comandos SQL e as linhas lidas (no total e por requisição), contados pelo
+ * {@link SqlCountingConfig}, e os contadores do cache de clientes.
+ * <p>
+ * Com {@code client.metrics.enabled=false} nada disso é registrado e o
+ * {@code DataSource} não é envolvido.
+ */
+@Configuration
+@ConditionalOnProperty(value = "client.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+	@Bean
+	public MeterBinder sqlMeters(SqlStatementCounter counter) {
+		return registry -> {
+			FunctionCounter.builder("client.sql.statements", counter, SqlStatementCounter::getTotalStatements)
+					.register(registry);
+			FunctionCounter.builder("client.sql.rows", counter, SqlStatementCounter::getTotalRows)
+					.register(registry);
+		};
+	}
+
+	@Bean
+	public WebMvcConfigurer sqlMetricsWebMvcConfigurer(SqlStatementCounter counter, MeterRegistry registry) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry interceptors) {
+				interceptors.addInterceptor(new SqlMetricsInterceptor(counter, registry));
+			}
+		};
+	}
+
+	@Bean
+	public BoundedCacheMeterBinderProvider boundedCacheMeterBinderProvider() {
+		return new BoundedCacheMeterBinderProvider();
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.iftm.client.config;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Transações da API reativa ({@code /reactive/clients}), que acessa o mesmo
+ * banco via R2DBC. Com JPA e R2DBC no classpath existem dois gerenciadores de
+ * transação: o JPA continua sendo o padrão de {@code @Transactional} e o
+ * reativo é usado explicitamente pelo {@link TransactionalOperator}.
+ * <p>
+ * O Spring Boot deixa de criar o {@code DataSource} JDBC quando existe uma
+ * {@link ConnectionFactory} R2DBC, então ele é declarado aqui com as mesmas
+ * propriedades {@code spring.datasource.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@Primary
+	public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+		return new JpaTransactionManager(entityManagerFactory);
+	}
+
+	@Bean
+	public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+		return new R2dbcTransactionManager(connectionFactory);
+	}
+
+	@Bean
+	public TransactionalOperator reactiveTransactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+		return TransactionalOperator.create(reactiveTransactionManager);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.iftm.client.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Oferece o formato binário Smile ({@code application/x-jackson-smile}) por
+ * negociação de conteúdo, com a mesma configuração do Jackson usada no JSON.
+ * Os nomes de campo repetidos em listas são escritos uma vez e depois
+ * referenciados, assim como os textos curtos repetidos.
+ */
+@Configuration
+public class SerializationConfig {
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		SmileFactory factory = new SmileFactory();
+		factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.iftm.client.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.iftm.client.metrics.SqlStatementCounter;
+import com.iftm.client.metrics.StatementCountingDataSource;
+
+/**
+ * Envolve o {@code DataSource} em um {@link StatementCountingDataSource}, que
+ * conta os comandos SQL e as linhas lidas e faz o log de SQL por amostragem.
+ * Não depende das métricas, então pode ser importado sozinho nos testes de
+ * repositório ({@code @DataJpaTest}) para limitar a quantidade de comandos.
+ */
+@Configuration
+@ConditionalOnProperty(value = "client.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlCountingConfig {
+
+	@Bean
+	public static SqlStatementCounter sqlStatementCounter() {
+		return new SqlStatementCounter();
+	}
+
+	// estático para ser registrado antes do DataSource, sem antecipar esta classe
+	@Bean
+	public static BeanPostProcessor statementCountingDataSourcePostProcessor(Environment environment,
+			ObjectProvider<SqlStatementCounter> counter) {
+		double sampleRate = environment.getProperty("client.sql.log.sample-rate", Double.class, 0.0);
+		Duration slowThreshold = environment.getProperty("client.sql.log.slow-threshold", Duration.class,
+				Duration.ofMillis(200));
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)) {
+					return new StatementCountingDataSource((DataSource) bean, counter.getObject(), sampleRate,
+							slowThreshold.toNanos());
+				}
+				return bean;
+			}
+		};
+	}
+
+}
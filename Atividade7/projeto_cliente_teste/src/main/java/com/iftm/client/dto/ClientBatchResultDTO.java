@@ -0,0 +1,86 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ClientBatchResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private Integer total;
+	private Integer inserted;
+	private Integer failed;
+	private Integer chunkSize;
+	private Long elapsedMillis;
+	private Double rowsPerSecond;
+	private List<ClientBatchRowDTO> rows;
+	
+	public ClientBatchResultDTO() {
+	}
+
+	public ClientBatchResultDTO(List<ClientBatchRowDTO> rows, Integer chunkSize, Long elapsedNanos) {
+		this.rows = rows;
+		this.chunkSize = chunkSize;
+		this.total = rows.size();
+		this.inserted = (int) rows.stream().filter(r -> ClientBatchRowDTO.CREATED.equals(r.getStatus())).count();
+		this.failed = total - inserted;
+		this.elapsedMillis = elapsedNanos / 1_000_000;
+		this.rowsPerSecond = elapsedNanos == 0 ? 0.0 : inserted * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	public Integer getTotal() {
+		return total;
+	}
+
+	public void setTotal(Integer total) {
+		this.total = total;
+	}
+
+	public Integer getInserted() {
+		return inserted;
+	}
+
+	public void setInserted(Integer inserted) {
+		this.inserted = inserted;
+	}
+
+	public Integer getFailed() {
+		return failed;
+	}
+
+	public void setFailed(Integer failed) {
+		this.failed = failed;
+	}
+
+	public Integer getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(Integer chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(Long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public Double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public void setRowsPerSecond(Double rowsPerSecond) {
+		this.rowsPerSecond = rowsPerSecond;
+	}
+
+	public List<ClientBatchRowDTO> getRows() {
+		return rows;
+	}
+
+	public void setRows(List<ClientBatchRowDTO> rows) {
+		this.rows = rows;
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+
+public class ClientBatchRowDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	public static final String CREATED = "CREATED";
+	public static final String FAILED = "FAILED";
+	
+	private Integer index;
+	private Long id;
+	private String status;
+	private String message;
+	
+	public ClientBatchRowDTO() {
+	}
+
+	public ClientBatchRowDTO(Integer index, Long id, String status, String message) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.message = message;
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(Integer index) {
+		this.index = index;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+}
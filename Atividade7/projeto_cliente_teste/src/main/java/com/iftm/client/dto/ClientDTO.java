@@ -6,7 +6,6 @@ import java.time.Instant;
 import com.iftm.client.entities.Client;
 import lombok.Builder;
 
-@Builder
 public class ClientDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
@@ -16,10 +15,12 @@ public class ClientDTO implements Serializable {
 	private Double income;
 	private Instant birthDate;
 	private Integer children;
+	private Long version;
 	
 	public ClientDTO() {
 	}
 
+	@Builder
 	public ClientDTO(Long id, String name, String cpf, Double income, Instant birthDate, Integer children) {
 		this.id = id;
 		this.name = name;
@@ -36,6 +37,13 @@ public class ClientDTO implements Serializable {
 		this.income = entity.getIncome();
 		this.birthDate = entity.getBirthDate();
 		this.children = entity.getChildren();
+		this.version = entity.getVersion();
+	}
+
+	public ClientDTO(Long id, String name, String cpf, Double income, Instant birthDate, Integer children,
+			Long version) {
+		this(id, name, cpf, income, birthDate, children);
+		this.version = version;
 	}
 
 	public Long getId() {
@@ -86,6 +94,14 @@ public class ClientDTO implements Serializable {
 		this.children = children;
 	}
 	
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public Client toEntity() {
 		return new Client(id, name, cpf, income, birthDate, children);
 	}
@@ -0,0 +1,36 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ClientLookupDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private List<ClientDTO> found;
+	private List<Long> missing;
+	
+	public ClientLookupDTO() {
+	}
+
+	public ClientLookupDTO(List<ClientDTO> found, List<Long> missing) {
+		this.found = found;
+		this.missing = missing;
+	}
+
+	public List<ClientDTO> getFound() {
+		return found;
+	}
+
+	public void setFound(List<ClientDTO> found) {
+		this.found = found;
+	}
+
+	public List<Long> getMissing() {
+		return missing;
+	}
+
+	public void setMissing(List<Long> missing) {
+		this.missing = missing;
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * Envelope enxuto de uma página de clientes: só o conteúdo, a posição e os
+ * totais, sem os metadados de {@code pageable} e {@code sort} do
+ * {@code PageImpl}.
+ */
+public class ClientPageDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private List<ClientDTO> content;
+	private Integer number;
+	private Integer size;
+	private Long totalElements;
+	private Integer totalPages;
+	
+	public ClientPageDTO() {
+	}
+
+	public ClientPageDTO(Page<ClientDTO> page) {
+		this.content = page.getContent();
+		this.number = page.getNumber();
+		this.size = page.getSize();
+		this.totalElements = page.getTotalElements();
+		this.totalPages = page.getTotalPages();
+	}
+
+	public List<ClientDTO> getContent() {
+		return content;
+	}
+
+	public void setContent(List<ClientDTO> content) {
+		this.content = content;
+	}
+
+	public Integer getNumber() {
+		return number;
+	}
+
+	public void setNumber(Integer number) {
+		this.number = number;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Long getTotalElements() {
+		return totalElements;
+	}
+
+	public void setTotalElements(Long totalElements) {
+		this.totalElements = totalElements;
+	}
+
+	public Integer getTotalPages() {
+		return totalPages;
+	}
+
+	public void setTotalPages(Integer totalPages) {
+		this.totalPages = totalPages;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public class ClientSliceDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private List<ClientDTO> content;
+	private Integer size;
+	private Boolean hasNext;
+	private String next;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer number;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long approximateTotal;
+	
+	public ClientSliceDTO() {
+	}
+
+	public ClientSliceDTO(List<ClientDTO> content, Integer size, Boolean hasNext, String next) {
+		this.content = content;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.next = next;
+	}
+
+	public List<ClientDTO> getContent() {
+		return content;
+	}
+
+	public void setContent(List<ClientDTO> content) {
+		this.content = content;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(Boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public Integer getNumber() {
+		return number;
+	}
+
+	public void setNumber(Integer number) {
+		this.number = number;
+	}
+
+	public Long getApproximateTotal() {
+		return approximateTotal;
+	}
+
+	public void setApproximateTotal(Long approximateTotal) {
+		this.approximateTotal = approximateTotal;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.iftm.client.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncomeStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+	
+	private Long count;
+	private Double sum;
+	private Double min;
+	private Double max;
+	private Double mean;
+	private Map<String, Double> percentiles;
+	private Map<Integer, IncomeStatsDTO> byChildren;
+	
+	public IncomeStatsDTO() {
+	}
+
+	public IncomeStatsDTO(Long count, Double sum, Double min, Double max, Double mean, Map<String, Double> percentiles) {
+		this.count = count;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+		this.mean = mean;
+		this.percentiles = percentiles;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Double getSum() {
+		return sum;
+	}
+
+	public void setSum(Double sum) {
+		this.sum = sum;
+	}
+
+	public Double getMin() {
+		return min;
+	}
+
+	public void setMin(Double min) {
+		this.min = min;
+	}
+
+	public Double getMax() {
+		return max;
+	}
+
+	public void setMax(Double max) {
+		this.max = max;
+	}
+
+	public Double getMean() {
+		return mean;
+	}
+
+	public void setMean(Double mean) {
+		this.mean = mean;
+	}
+
+	public Map<String, Double> getPercentiles() {
+		return percentiles;
+	}
+
+	public void setPercentiles(Map<String, Double> percentiles) {
+		this.percentiles = percentiles;
+	}
+
+	public Map<Integer, IncomeStatsDTO> getByChildren() {
+		return byChildren;
+	}
+
+	public void setByChildren(Map<Integer, IncomeStatsDTO> byChildren) {
+		this.byChildren = byChildren;
+	}
+
+}
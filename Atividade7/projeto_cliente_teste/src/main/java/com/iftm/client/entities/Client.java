@@ -6,32 +6,48 @@ import java.io.Serializable;
 import java.time.Instant;
 
 import javax.persistence.Entity;
+import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
-@Builder
 @Entity
-@Table(name = "tb_client")
+@Table(name = "tb_client", indexes = {
+		@Index(name = "idx_client_name_search", columnList = "name_search"),
+		@Index(name = "idx_client_birth_date", columnList = "birth_date"),
+		@Index(name = "idx_client_income_name", columnList = "income, name") })
+@org.springframework.data.relational.core.mapping.Table("tb_client")
 public class Client implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
+	@org.springframework.data.annotation.Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	private String name;
 	private String cpf;
 	private Double income;
+	@Column(name = "birth_date")
 	private Instant birthDate;
 	private Integer children;
+	@Column(name = "name_search")
+	private String nameSearch;
+	// o default cobre os INSERTs que não passam pelo Hibernate (lote JDBC e R2DBC)
+	@Version
+	@Column(nullable = false, columnDefinition = "bigint default 0")
+	private Long version;
 	
 	public Client() {
 	}
 
+	@Builder
 	public Client(Long id, String name, String cpf, Double income, Instant birthDate, Integer children) {
 		this.id = id;
 		this.name = name;
+		this.nameSearch = NameNormalizer.normalize(name);
 		this.cpf = cpf;
 		this.income = income;
 		this.birthDate = birthDate;
@@ -52,6 +68,15 @@ public class Client implements Serializable {
 
 	public void setName(String name) {
 		this.name = name;
+		this.nameSearch = NameNormalizer.normalize(name);
+	}
+
+	public String getNameSearch() {
+		return nameSearch;
+	}
+
+	public Long getVersion() {
+		return version;
 	}
 
 	public String getCpf() {
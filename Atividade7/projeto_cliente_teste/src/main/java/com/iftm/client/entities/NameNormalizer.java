@@ -0,0 +1,27 @@
+package com.iftm.client.entities;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza nomes para busca: remove acentos, converte para minúsculas e
+ * colapsa espaços. "Conceição Evaristo" vira "conceicao evaristo".
+ */
+public final class NameNormalizer {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+
+	private NameNormalizer() {
+	}
+
+	public static String normalize(String name) {
+		if (name == null) {
+			return null;
+		}
+		String folded = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+		return SPACES.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+	}
+
+}
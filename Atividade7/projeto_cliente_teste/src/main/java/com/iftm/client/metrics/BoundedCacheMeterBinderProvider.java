@@ -0,0 +1,58 @@
+package com.iftm.client.metrics;
+
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+import com.iftm.client.cache.BoundedCache;
+import com.iftm.client.cache.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publica os contadores do {@link BoundedCache} como as métricas padrão de
+ * cache ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions},
+ * {@code cache.size}), com a tag {@code cache} igual ao nome do cache.
+ */
+public class BoundedCacheMeterBinderProvider implements CacheMeterBinderProvider<BoundedCache> {
+
+	@Override
+	public MeterBinder getMeterBinder(BoundedCache cache, Iterable<Tag> tags) {
+		return new CacheMeterBinder(cache, cache.getName(), tags) {
+			@Override
+			protected Long size() {
+				return stats().getSize().longValue();
+			}
+
+			@Override
+			protected long hitCount() {
+				return stats().getHits();
+			}
+
+			@Override
+			protected Long missCount() {
+				return stats().getMisses();
+			}
+
+			@Override
+			protected Long evictionCount() {
+				return stats().getEvictions();
+			}
+
+			@Override
+			protected long putCount() {
+				return stats().getPuts();
+			}
+
+			@Override
+			protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+			}
+
+			private CacheStats stats() {
+				return cache.getStats();
+			}
+		};
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.iftm.client.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede o tempo de cada método do {@code ClientService} ({@code client.service})
+ * e do {@code ClientRepository} ({@code client.repository}), com as tags
+ * {@code class}, {@code method} e {@code exception}. Os percentis publicados
+ * são configurados em {@code management.metrics.distribution.percentiles}.
+ */
+@Aspect
+@Component
+public class InvocationMetricsAspect {
+
+	public static final String SERVICE = "client.service";
+	public static final String REPOSITORY = "client.repository";
+
+	@Autowired
+	private MeterRegistry registry;
+
+	// os timers são resolvidos uma vez por método e resultado, fora do caminho quente
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	@Around("within(com.iftm.client.services.ClientService)")
+	public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(SERVICE, "ClientService", joinPoint);
+	}
+
+	@Around("target(com.iftm.client.repositories.ClientRepository)")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(REPOSITORY, "ClientRepository", joinPoint);
+	}
+
+	private Object time(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+		String method = joinPoint.getSignature().getName();
+		long start = System.nanoTime();
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			String exceptionTag = exception;
+			timers.computeIfAbsent(name + ':' + method + ':' + exceptionTag, key -> Timer.builder(name)
+					.tag("class", className)
+					.tag("method", method)
+					.tag("exception", exceptionTag)
+					.register(registry))
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.iftm.client.metrics;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registra, para cada requisição, quantos comandos SQL foram executados
+ * ({@code client.request.statements}) e quantas linhas foram lidas
+ * ({@code client.request.rows}), com as tags {@code method} e {@code uri}.
+ * <p>
+ * A contagem é por thread, então as requisições assíncronas (exportação NDJSON
+ * e API reativa) não são registradas.
+ */
+public class SqlMetricsInterceptor implements HandlerInterceptor {
+
+	public static final String STATEMENTS = "client.request.statements";
+	public static final String ROWS = "client.request.rows";
+
+	private final SqlStatementCounter counter;
+	private final MeterRegistry registry;
+
+	public SqlMetricsInterceptor(SqlStatementCounter counter, MeterRegistry registry) {
+		this.counter = counter;
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		counter.reset();
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		if (request.getDispatcherType() != DispatcherType.REQUEST || request.isAsyncStarted()) {
+			return;
+		}
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+		summary(STATEMENTS, request.getMethod(), uri).record(counter.getStatements());
+		summary(ROWS, request.getMethod(), uri).record(counter.getRows());
+	}
+
+	private DistributionSummary summary(String name, String method, String uri) {
+		return DistributionSummary.builder(name).tag("method", method).tag("uri", uri).register(registry);
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.iftm.client.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta os comandos SQL executados e as linhas lidas pela aplicação, no total
+ * e por thread. A contagem por thread é zerada no início de cada requisição,
+ * o que dá a quantidade de comandos e linhas que aquela requisição gerou.
+ */
+public class SqlStatementCounter {
+
+	private final ThreadLocal<long[]> current = ThreadLocal.withInitial(() -> new long[2]);
+	private final LongAdder statements = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+
+	public void statementExecuted() {
+		current.get()[0]++;
+		statements.increment();
+	}
+
+	public void rowRead() {
+		current.get()[1]++;
+		rows.increment();
+	}
+
+	/**
+	 * Zera a contagem da thread atual.
+	 */
+	public void reset() {
+		long[] counts = current.get();
+		counts[0] = 0;
+		counts[1] = 0;
+	}
+
+	/**
+	 * @return Os comandos executados pela thread atual desde o último
+	 *         {@link #reset()}.
+	 */
+	public long getStatements() {
+		return current.get()[0];
+	}
+
+	/**
+	 * @return As linhas lidas pela thread atual desde o último {@link #reset()}.
+	 */
+	public long getRows() {
+		return current.get()[1];
+	}
+
+	public long getTotalStatements() {
+		return statements.sum();
+	}
+
+	public long getTotalRows() {
+		return rows.sum();
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.iftm.client.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@code DataSource} que registra no {@link SqlStatementCounter} cada comando
+ * executado ({@code execute*}) e cada linha lida dos {@code ResultSet}s, de
+ * qualquer origem (Hibernate, {@code JdbcTemplate}, ...).
+ * <p>
+ * Substitui o {@code spring.jpa.show-sql}: os comandos mais lentos que
+ * {@code slowThresholdNanos} são sempre registrados no log, e os demais só em
+ * uma amostra de {@code sampleRate} das execuções.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+	private static final Logger log = LoggerFactory.getLogger(StatementCountingDataSource.class);
+
+	private final SqlStatementCounter counter;
+	private final double sampleRate;
+	private final long slowThresholdNanos;
+
+	public StatementCountingDataSource(DataSource target, SqlStatementCounter counter, double sampleRate,
+			long slowThresholdNanos) {
+		super(target);
+		this.counter = counter;
+		this.sampleRate = sampleRate;
+		this.slowThresholdNanos = slowThresholdNanos;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connection(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return connection(super.getConnection(username, password));
+	}
+
+	private Connection connection(Connection target) {
+		return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+				new Class<?>[] { ConnectionProxy.class }, (proxy, method, args) -> {
+					if (method.getName().equals("getTargetConnection")) {
+						return target;
+					}
+					Object result = invoke(proxy, target, method, args);
+					if (result instanceof Statement) {
+						// prepareStatement(sql, ...) e prepareCall(sql, ...) recebem o SQL aqui
+						String sql = args != null && args[0] instanceof String ? (String) args[0] : null;
+						return statement((Statement) result, method.getReturnType(), sql);
+					}
+					return result;
+				});
+	}
+
+	private Statement statement(Statement target, Class<?> type, String preparedSql) {
+		return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if (!method.getName().startsWith("execute")) {
+						Object result = invoke(proxy, target, method, args);
+						return method.getName().equals("getResultSet") ? resultSet((ResultSet) result) : result;
+					}
+					long start = System.nanoTime();
+					try {
+						Object result = invoke(proxy, target, method, args);
+						return result instanceof ResultSet ? resultSet((ResultSet) result) : result;
+					} finally {
+						counter.statementExecuted();
+						String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+								: preparedSql;
+						logStatement(sql, System.nanoTime() - start);
+					}
+				});
+	}
+
+	private ResultSet resultSet(ResultSet target) {
+		if (target == null) {
+			return null;
+		}
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+				(proxy, method, args) -> {
+					Object result = invoke(proxy, target, method, args);
+					if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+						counter.rowRead();
+					}
+					return result;
+				});
+	}
+
+	private void logStatement(String sql, long elapsedNanos) {
+		if (elapsedNanos >= slowThresholdNanos) {
+			log.warn("Slow SQL ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+		} else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+			log.info("SQL ({} µs): {}", TimeUnit.NANOSECONDS.toMicros(elapsedNanos), sql);
+		}
+	}
+
+	// equals/hashCode pela identidade do proxy; o resto vai para o objeto real
+	private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+		if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+			return proxy == args[0];
+		}
+		if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+			return System.identityHashCode(proxy);
+		}
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+}
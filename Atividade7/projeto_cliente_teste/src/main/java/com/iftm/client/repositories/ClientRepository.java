@@ -2,28 +2,86 @@ package com.iftm.client.repositories;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.iftm.client.dto.ClientDTO;
 import com.iftm.client.entities.Client;
+import com.iftm.client.entities.NameNormalizer;
+import com.iftm.client.repositories.projections.ClientBirthDateView;
+import com.iftm.client.repositories.projections.ClientIncomeView;
+import com.iftm.client.repositories.projections.ClientNameView;
+import com.iftm.client.repositories.projections.ClientUpdateView;
+import com.iftm.client.repositories.projections.IncomeCountView;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientRepositoryCustom {
+
+    /**
+     * Expressão de construtor usada pelas consultas que devolvem {@link ClientDTO}.
+     */
+    String DTO_COLUMNS = "new com.iftm.client.dto.ClientDTO(c.id, c.name, c.cpf, c.income, c.birthDate, c.children, c.version)";
 
     /**
      * Busca clientes cujo nome contenha a palavra especificada, ignorando
-     * maiúsculas e minúsculas.
+     * maiúsculas, minúsculas e acentos.
      *
      * @param palavra A palavra a ser buscada no nome dos clientes.
      * @return Uma lista de clientes cujo nome contém a palavra especificada.
      */
-    @Query("SELECT c FROM Client c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :palavra, '%'))")
-    List<Client> findClientsByNameContaining(@Param("palavra") String palavra);
+    default List<Client> findClientsByNameContaining(String palavra) {
+        return findByNameSearchContaining(escapeLike(NameNormalizer.normalize(palavra)), Pageable.unpaged());
+    }
+
+    /**
+     * Escapa os curingas do {@code LIKE} ({@code %}, {@code _} e a própria
+     * barra), para que o termo seja comparado literalmente nas consultas com
+     * {@code ESCAPE '\'}.
+     *
+     * @param termo O termo já normalizado.
+     * @return O termo com {@code \}, {@code %} e {@code _} precedidos de barra.
+     */
+    static String escapeLike(String termo) {
+        if (termo == null) {
+            return null;
+        }
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Busca clientes cujo nome normalizado contenha o termo (já normalizado).
+     * Percorre a tabela inteira; prefira o índice de trigramas quando ativo.
+     *
+     * @param termo    O termo normalizado por {@link NameNormalizer} e escapado
+     *                 por {@link #escapeLike}.
+     * @param pageable Limite de resultados.
+     * @return Uma lista de clientes ordenada por id.
+     */
+    @Query("SELECT c FROM Client c WHERE c.nameSearch LIKE CONCAT('%', :termo, '%') ESCAPE '\\' ORDER BY c.id")
+    List<Client> findByNameSearchContaining(@Param("termo") String termo, Pageable pageable);
+
+    /**
+     * Busca clientes cujo nome normalizado comece com o termo (já normalizado).
+     * Usa o índice {@code idx_client_name_search}.
+     *
+     * @param termo    O termo normalizado por {@link NameNormalizer} e escapado
+     *                 por {@link #escapeLike}.
+     * @param pageable Limite de resultados e ordenação.
+     * @return Uma fatia de clientes, sem consulta de contagem.
+     */
+    @Query("SELECT c FROM Client c WHERE c.nameSearch LIKE CONCAT(:termo, '%') ESCAPE '\\'")
+    Slice<Client> findByNameSearchStartingWith(@Param("termo") String termo, Pageable pageable);
 
     /**
      * Busca clientes cuja renda esteja entre os valores mínimo e máximo
@@ -48,13 +106,23 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findClientsByBirthDateBetween(Instant dataInicio, Instant dataFim);
 
     /**
-     * Busca cliente pelo nome(exato).
+     * Busca cliente pelo nome(exato), ignorando maiúsculas, minúsculas e acentos.
      *
      * @param nome O nome do cliente a ser buscado.
      * @return O cliente encontrado ou null se não for encontrado.
      */
-    @Query("SELECT c FROM Client c WHERE LOWER(c.name) = LOWER(:nome)")
-    Client findClientByNameIgnoreCase(@Param("nome") String nome);
+    default Client findClientByNameIgnoreCase(String nome) {
+        return findFirstByNameSearch(NameNormalizer.normalize(nome));
+    }
+
+    /**
+     * Busca cliente pelo nome normalizado. Usa o índice
+     * {@code idx_client_name_search}.
+     *
+     * @param nameSearch O nome normalizado por {@link NameNormalizer}.
+     * @return O cliente encontrado ou null se não for encontrado.
+     */
+    Client findFirstByNameSearch(String nameSearch);
 
     /**
      * Busca cliente pelo salario maior que um valor.
@@ -89,4 +157,225 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
      * @return Uma página de clientes com renda maior que o valor especificado.
      */
     Page<Client> findByIncomeGreaterThan(Double income, Pageable pageable);
+
+    /**
+     * Busca clientes com renda exata, sem consulta de contagem.
+     *
+     * @param income   O valor da renda a ser buscado.
+     * @param pageable Informações de paginação.
+     * @return Uma fatia de clientes com a renda exata especificada.
+     */
+    Slice<Client> findSliceByIncome(Double income, Pageable pageable);
+
+    /**
+     * Busca clientes com renda maior que um valor, sem consulta de contagem.
+     *
+     * @param income   O valor da renda a ser buscado.
+     * @param pageable Informações de paginação.
+     * @return Uma fatia de clientes com renda maior que o valor especificado.
+     */
+    Slice<Client> findSliceByIncomeGreaterThan(Double income, Pageable pageable);
+
+    /**
+     * Conta os clientes por número de filhos e valor de renda. Usado para
+     * carregar o histograma de rendas.
+     *
+     * @return A quantidade de clientes para cada par (filhos, renda) distinto.
+     */
+    @Query("SELECT c.children AS children, c.income AS income, COUNT(c) AS total FROM Client c "
+            + "WHERE c.income IS NOT NULL GROUP BY c.children, c.income")
+    List<IncomeCountView> countByChildrenAndIncome();
+
+    /**
+     * Busca os clientes posteriores ao cursor (nome, id) em ordem crescente.
+     * <p>
+     * Nas consultas da paginação por chave (keyset), os clientes sem nome ou
+     * sem renda vêm antes dos demais nas duas direções ({@code NULLS FIRST}),
+     * em ordem de id. Cada consulta traz o próprio {@code ORDER BY}; o
+     * {@code Pageable} informa só o tamanho da página.
+     *
+     * @param name     O nome do último cliente entregue.
+     * @param id       O id do último cliente entregue.
+     * @param pageable Tamanho da página.
+     * @return Uma fatia de clientes, sem consulta de contagem.
+     */
+    @Query("SELECT c FROM Client c WHERE c.name > :name OR (c.name = :name AND c.id > :id) "
+            + "ORDER BY c.name ASC NULLS FIRST, c.id ASC")
+    Slice<Client> findSliceByNameAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores ao cursor (nome, id) em ordem decrescente.
+     */
+    @Query("SELECT c FROM Client c WHERE c.name < :name OR (c.name = :name AND c.id < :id) "
+            + "ORDER BY c.name DESC NULLS FIRST, c.id DESC")
+    Slice<Client> findSliceByNameBefore(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores a um cursor sem nome, em ordem crescente:
+     * os demais clientes sem nome com id maior e todos os que têm nome. Com
+     * {@code id = Long.MIN_VALUE}, é a primeira página.
+     */
+    @Query("SELECT c FROM Client c WHERE c.name IS NOT NULL OR c.id > :id "
+            + "ORDER BY c.name ASC NULLS FIRST, c.id ASC")
+    Slice<Client> findSliceByNullNameAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores a um cursor sem nome, em ordem
+     * decrescente. Com {@code id = Long.MAX_VALUE}, é a primeira página.
+     */
+    @Query("SELECT c FROM Client c WHERE c.name IS NOT NULL OR c.id < :id "
+            + "ORDER BY c.name DESC NULLS FIRST, c.id DESC")
+    Slice<Client> findSliceByNullNameBefore(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores ao cursor (renda, id) em ordem crescente.
+     */
+    @Query("SELECT c FROM Client c WHERE c.income > :income OR (c.income = :income AND c.id > :id) "
+            + "ORDER BY c.income ASC NULLS FIRST, c.id ASC")
+    Slice<Client> findSliceByIncomeAfter(@Param("income") Double income, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores ao cursor (renda, id) em ordem decrescente.
+     */
+    @Query("SELECT c FROM Client c WHERE c.income < :income OR (c.income = :income AND c.id < :id) "
+            + "ORDER BY c.income DESC NULLS FIRST, c.id DESC")
+    Slice<Client> findSliceByIncomeBefore(@Param("income") Double income, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores a um cursor sem renda, em ordem crescente.
+     * Com {@code id = Long.MIN_VALUE}, é a primeira página.
+     */
+    @Query("SELECT c FROM Client c WHERE c.income IS NOT NULL OR c.id > :id "
+            + "ORDER BY c.income ASC NULLS FIRST, c.id ASC")
+    Slice<Client> findSliceByNullIncomeAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes posteriores a um cursor sem renda, em ordem
+     * decrescente. Com {@code id = Long.MAX_VALUE}, é a primeira página.
+     */
+    @Query("SELECT c FROM Client c WHERE c.income IS NOT NULL OR c.id < :id "
+            + "ORDER BY c.income DESC NULLS FIRST, c.id DESC")
+    Slice<Client> findSliceByNullIncomeBefore(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes com id maior que o do cursor.
+     */
+    Slice<Client> findSliceByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Busca os clientes com id menor que o do cursor.
+     */
+    Slice<Client> findSliceByIdLessThan(Long id, Pageable pageable);
+
+    /**
+     * Percorre todos os clientes em ordem de id usando um cursor JDBC, lendo as
+     * linhas em lotes de {@code fetchSize}. Deve ser consumido dentro de uma
+     * transação e fechado ao final.
+     *
+     * @return Um stream com todos os clientes.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Client c ORDER BY c.id")
+    Stream<Client> streamAll();
+
+    /**
+     * Percorre id e nome normalizado de todos os clientes, sem carregar as
+     * entidades. Usado para montar o índice de trigramas.
+     *
+     * @return Um stream de projeções (id, nameSearch).
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id AS id, c.nameSearch AS nameSearch FROM Client c")
+    Stream<ClientNameView> streamNames();
+
+    /**
+     * Versão projetada de {@link #findClientsByIncomeBetween}: seleciona apenas
+     * id, nome e renda, cobertos pelo índice {@code idx_client_income_name}.
+     *
+     * @param rendaMinima O valor mínimo da renda.
+     * @param rendaMaxima O valor máximo da renda.
+     * @return Uma lista de projeções cuja renda está dentro do intervalo.
+     */
+    List<ClientIncomeView> findIncomeViewsByIncomeBetween(Double rendaMinima, Double rendaMaxima);
+
+    /**
+     * Versão projetada de {@link #findClientsByIncomeGreaterThan}.
+     *
+     * @param renda O valor da renda a ser buscado.
+     * @return Uma lista de projeções cuja renda é maior que o valor especificado.
+     */
+    List<ClientIncomeView> findIncomeViewsByIncomeGreaterThan(Double renda);
+
+    /**
+     * Versão projetada de {@link #findClientsByIncomeLessThan}.
+     *
+     * @param renda O valor da renda a ser buscado.
+     * @return Uma lista de projeções cuja renda é menor que o valor especificado.
+     */
+    List<ClientIncomeView> findIncomeViewsByIncomeLessThan(Double renda);
+
+    /**
+     * Versão projetada de {@link #findByIncome}, sem carregar as entidades.
+     *
+     * @param income   O valor da renda a ser buscado.
+     * @param pageable Informações de paginação.
+     * @return Uma página de projeções com a renda exata especificada.
+     */
+    Page<ClientIncomeView> findIncomeViewsByIncome(Double income, Pageable pageable);
+
+    /**
+     * Versão projetada de {@link #findClientsByBirthDateBetween}, usando o índice
+     * {@code idx_client_birth_date}.
+     *
+     * @param dataInicio A data inicial do intervalo.
+     * @param dataFim    A data final do intervalo.
+     * @return Uma lista de projeções cuja data de nascimento está no intervalo.
+     */
+    List<ClientBirthDateView> findBirthDateViewsByBirthDateBetween(Instant dataInicio, Instant dataFim);
+
+    /**
+     * Lista os clientes já como {@link ClientDTO}, montados pela expressão de
+     * construtor da consulta: não há entidades gerenciadas nem snapshots para
+     * dirty checking.
+     *
+     * @param pageable Informações de paginação.
+     * @return Uma página de DTOs.
+     */
+    @Query(value = "SELECT " + DTO_COLUMNS + " FROM Client c",
+            countQuery = "SELECT COUNT(c) FROM Client c")
+    Page<ClientDTO> findAllDto(Pageable pageable);
+
+    /**
+     * Versão em {@link ClientDTO} de {@link #findByIncome}, sem carregar as
+     * entidades.
+     *
+     * @param income   O valor da renda a ser buscado.
+     * @param pageable Informações de paginação.
+     * @return Uma página de DTOs com a renda exata especificada.
+     */
+    @Query(value = "SELECT " + DTO_COLUMNS + " FROM Client c WHERE c.income = :income",
+            countQuery = "SELECT COUNT(c) FROM Client c WHERE c.income = :income")
+    Page<ClientDTO> findDtoByIncome(@Param("income") Double income, Pageable pageable);
+
+    /**
+     * Versão em {@link ClientDTO} de {@link #findByIncomeGreaterThan}, sem
+     * carregar as entidades.
+     *
+     * @param income   O valor da renda a ser buscado.
+     * @param pageable Informações de paginação.
+     * @return Uma página de DTOs com renda maior que o valor especificado.
+     */
+    @Query(value = "SELECT " + DTO_COLUMNS + " FROM Client c WHERE c.income > :income",
+            countQuery = "SELECT COUNT(c) FROM Client c WHERE c.income > :income")
+    Page<ClientDTO> findDtoByIncomeGreaterThan(@Param("income") Double income, Pageable pageable);
+
+    /**
+     * Lê só a versão, a renda e o número de filhos de um cliente, pela chave
+     * primária.
+     *
+     * @param id O id do cliente.
+     * @return A projeção, ou vazio quando o id não existe.
+     */
+    @Query("SELECT c.version AS version, c.income AS income, c.children AS children FROM Client c WHERE c.id = :id")
+    Optional<ClientUpdateView> findUpdateViewById(@Param("id") Long id);
 }
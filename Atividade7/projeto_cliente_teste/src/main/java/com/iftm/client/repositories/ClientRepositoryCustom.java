@@ -0,0 +1,36 @@
+package com.iftm.client.repositories;
+
+import java.util.List;
+import java.util.Map;
+
+import com.iftm.client.entities.Client;
+
+public interface ClientRepositoryCustom {
+
+    /**
+     * Insere os clientes em um único lote JDBC ({@code addBatch}/
+     * {@code executeBatch}), sem passar pelo contexto de persistência.
+     *
+     * @param clients Os clientes a serem inseridos (o id é ignorado).
+     * @return Os ids gerados, na mesma ordem da lista recebida.
+     * @throws org.springframework.dao.IncorrectResultSizeDataAccessException Se
+     *         o driver não devolver exatamente uma chave por cliente; nada é
+     *         inserido.
+     */
+    List<Long> batchInsert(List<Client> clients);
+
+    /**
+     * Atualiza apenas os atributos informados de um cliente com um único
+     * {@code UPDATE tb_client ... WHERE id = ?}, sem carregar a entidade. A
+     * versão da linha é sempre incrementada.
+     *
+     * @param id      O id do cliente.
+     * @param version A versão esperada da linha, ou {@code null} para
+     *                atualizar qualquer que seja a versão atual.
+     * @param values  Os novos valores, por nome de atributo da entidade
+     *                ({@code name}, {@code nameSearch}, {@code cpf}, ...).
+     * @return A quantidade de linhas afetadas: 0 quando o id não existe ou a
+     *         versão não confere.
+     */
+    int updateFields(Long id, Long version, Map<String, Object> values);
+}
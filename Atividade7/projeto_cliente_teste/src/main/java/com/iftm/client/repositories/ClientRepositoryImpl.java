@@ -0,0 +1,94 @@
+package com.iftm.client.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.iftm.client.entities.Client;
+
+public class ClientRepositoryImpl implements ClientRepositoryCustom {
+
+	private static final String INSERT_SQL = "INSERT INTO tb_client (name, name_search, cpf, income, birth_date, children, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+	private static final Set<String> UPDATABLE_ATTRIBUTES = Set.of("name", "nameSearch", "cpf", "income", "birthDate",
+			"children");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional
+	public List<Long> batchInsert(List<Client> clients) {
+		return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+			try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+				for (Client client : clients) {
+					ps.setString(1, client.getName());
+					ps.setString(2, client.getNameSearch());
+					ps.setString(3, client.getCpf());
+					ps.setObject(4, client.getIncome(), Types.DOUBLE);
+					ps.setTimestamp(5, client.getBirthDate() == null ? null : Timestamp.from(client.getBirthDate()));
+					ps.setObject(6, client.getChildren(), Types.INTEGER);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				List<Long> ids = new ArrayList<>(clients.size());
+				try (ResultSet keys = ps.getGeneratedKeys()) {
+					while (keys.next()) {
+						ids.add(keys.getLong(1));
+					}
+				}
+				// o serviço associa os ids às linhas pela posição; com chaves a
+				// menos (ou a mais) o bloco falha e o @Transactional o desfaz
+				if (ids.size() != clients.size()) {
+					throw new IncorrectResultSizeDataAccessException(
+							"Batch insert returned " + ids.size() + " generated keys for " + clients.size() + " rows",
+							clients.size(), ids.size());
+				}
+				return ids;
+			}
+		});
+	}
+
+	@Override
+	@Transactional
+	public int updateFields(Long id, Long version, Map<String, Object> values) {
+		StringBuilder jpql = new StringBuilder("UPDATE Client c SET c.version = c.version + 1");
+		for (String attribute : values.keySet()) {
+			if (!UPDATABLE_ATTRIBUTES.contains(attribute)) {
+				throw new IllegalArgumentException("Attribute cannot be updated: " + attribute);
+			}
+			jpql.append(", c.").append(attribute).append(" = :").append(attribute);
+		}
+		jpql.append(" WHERE c.id = :id");
+		if (version != null) {
+			jpql.append(" AND c.version = :version");
+		}
+		// valores sempre como parâmetros, para o SQL (e o plano) não variar com eles
+		Query query = entityManager.createQuery(jpql.toString()).setParameter("id", id);
+		if (version != null) {
+			query.setParameter("version", version);
+		}
+		values.forEach(query::setParameter);
+		return query.executeUpdate();
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.iftm.client.repositories;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.iftm.client.entities.Client;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acesso não bloqueante (R2DBC) à tabela {@code tb_client}, usado pela API
+ * reativa. As consultas paginadas aplicam LIMIT/OFFSET e não fazem contagem.
+ * <p>
+ * É uma classe sobre o {@link R2dbcEntityTemplate}, e não uma interface do
+ * Spring Data: com JPA no classpath, uma interface reativa para uma
+ * {@code @Entity} seria reivindicada também pelo módulo JPA.
+ */
+@Repository
+public class ReactiveClientRepository {
+
+	@Autowired
+	private R2dbcEntityTemplate template;
+
+	/**
+	 * Lista os clientes de uma página, sem consulta de contagem.
+	 *
+	 * @param pageable A página e a ordenação desejadas.
+	 * @return Os clientes da página, emitidos conforme a demanda.
+	 */
+	public Flux<Client> findAllBy(Pageable pageable) {
+		return template.select(Client.class).matching(Query.empty().with(pageable)).all();
+	}
+
+	public Mono<Client> findById(Long id) {
+		return template.selectOne(query(where("id").is(id)), Client.class);
+	}
+
+	/**
+	 * Busca os clientes com a renda informada.
+	 *
+	 * @param income   O valor da renda.
+	 * @param pageable A página e a ordenação desejadas.
+	 * @return Os clientes da página, emitidos conforme a demanda.
+	 */
+	public Flux<Client> findByIncome(Double income, Pageable pageable) {
+		return template.select(Client.class).matching(query(where("income").is(income)).with(pageable)).all();
+	}
+
+	/**
+	 * Busca os clientes com renda maior que o valor informado.
+	 *
+	 * @param income   O valor mínimo (exclusivo) da renda.
+	 * @param pageable A página e a ordenação desejadas.
+	 * @return Os clientes da página, emitidos conforme a demanda.
+	 */
+	public Flux<Client> findByIncomeGreaterThan(Double income, Pageable pageable) {
+		return template.select(Client.class).matching(query(where("income").greaterThan(income)).with(pageable)).all();
+	}
+
+	/**
+	 * Insere o cliente quando ele ainda não tem id, ou atualiza a linha
+	 * existente se ela ainda estiver na versão lida.
+	 *
+	 * @param entity O cliente a gravar.
+	 * @return O cliente gravado, com o id e a versão atribuídos pelo banco.
+	 * @throws OptimisticLockingFailureException (no Mono) quando a linha foi
+	 *                                           alterada desde a leitura.
+	 */
+	public Mono<Client> save(Client entity) {
+		if (entity.getId() == null) {
+			// relê a linha para trazer a versão preenchida pelo default da coluna
+			return template.insert(entity).flatMap(saved -> findById(saved.getId()));
+		}
+		return update(entity);
+	}
+
+	// o @Version do Spring Data não pode coexistir com o do JPA na entidade, então
+	// a versão é conferida e incrementada aqui, como no UPDATE do ClientRepositoryImpl
+	private Mono<Client> update(Client entity) {
+		Update update = Update.update("name", entity.getName())
+				.set("nameSearch", entity.getNameSearch())
+				.set("cpf", entity.getCpf())
+				.set("income", entity.getIncome())
+				.set("birthDate", entity.getBirthDate())
+				.set("children", entity.getChildren())
+				.set("version", entity.getVersion() + 1);
+		return template.update(Client.class)
+				.matching(query(where("id").is(entity.getId()).and("version").is(entity.getVersion())))
+				.apply(update)
+				.flatMap(count -> count == 0
+						? Mono.error(new OptimisticLockingFailureException("Client " + entity.getId() + " was modified"))
+						: findById(entity.getId()));
+	}
+
+	public Mono<Void> delete(Client entity) {
+		return template.delete(entity).then();
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.iftm.client.repositories.projections;
+
+import java.time.Instant;
+
+/**
+ * Projeção com id, nome e data de nascimento do cliente.
+ */
+public interface ClientBirthDateView {
+
+    Long getId();
+
+    String getName();
+
+    Instant getBirthDate();
+}
@@ -0,0 +1,15 @@
+package com.iftm.client.repositories.projections;
+
+/**
+ * Projeção com id, nome e renda do cliente. As consultas por faixa de renda
+ * que a usam são respondidas pelo índice {@code idx_client_income_name}, sem
+ * ler a linha da tabela.
+ */
+public interface ClientIncomeView {
+
+    Long getId();
+
+    String getName();
+
+    Double getIncome();
+}
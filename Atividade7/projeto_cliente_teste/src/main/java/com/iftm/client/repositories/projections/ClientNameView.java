@@ -0,0 +1,11 @@
+package com.iftm.client.repositories.projections;
+
+/**
+ * Projeção com apenas o id e o nome normalizado do cliente.
+ */
+public interface ClientNameView {
+
+    Long getId();
+
+    String getNameSearch();
+}
@@ -0,0 +1,15 @@
+package com.iftm.client.repositories.projections;
+
+/**
+ * Projeção com a versão, a renda e o número de filhos do cliente: o que uma
+ * atualização precisa conhecer antes do UPDATE, para conferir a versão e
+ * ajustar o histograma de rendas.
+ */
+public interface ClientUpdateView {
+
+    Long getVersion();
+
+    Double getIncome();
+
+    Integer getChildren();
+}
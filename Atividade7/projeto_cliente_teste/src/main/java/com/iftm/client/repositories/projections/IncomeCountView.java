@@ -0,0 +1,13 @@
+package com.iftm.client.repositories.projections;
+
+/**
+ * Quantidade de clientes por número de filhos e valor de renda.
+ */
+public interface IncomeCountView {
+
+    Integer getChildren();
+
+    Double getIncome();
+
+    Long getTotal();
+}
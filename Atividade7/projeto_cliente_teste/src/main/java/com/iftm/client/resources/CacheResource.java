@@ -0,0 +1,33 @@
+package com.iftm.client.resources;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.iftm.client.cache.BoundedCache;
+import com.iftm.client.cache.CacheStats;
+
+@RestController
+@RequestMapping(value = "/cache")
+public class CacheResource {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@GetMapping
+	public ResponseEntity<List<CacheStats>> stats() {
+		List<CacheStats> list = cacheManager.getCacheNames().stream()
+				.map(cacheManager::getCache)
+				.filter(BoundedCache.class::isInstance)
+				.map(cache -> ((BoundedCache) cache).getStats())
+				.collect(Collectors.toList());
+		return ResponseEntity.ok().body(list);
+	}
+
+}
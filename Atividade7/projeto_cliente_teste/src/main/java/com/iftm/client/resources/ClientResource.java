@@ -1,26 +1,49 @@
 package com.iftm.client.resources;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iftm.client.dto.ClientBatchResultDTO;
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientLookupDTO;
+import com.iftm.client.dto.ClientPageDTO;
+import com.iftm.client.dto.ClientSliceDTO;
+import com.iftm.client.dto.IncomeStatsDTO;
 import com.iftm.client.services.ClientService;
+import com.iftm.client.services.exceptions.InvalidRequestException;
+import com.iftm.client.services.exceptions.PreconditionFailedException;
 
 @RestController
 @RequestMapping(value = "/clients")
@@ -29,6 +52,9 @@ public class ClientResource {
 	@Autowired
 	private ClientService service;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	@GetMapping
 	public ResponseEntity<Page<ClientDTO>> findAll(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
@@ -40,10 +66,67 @@ public class ClientResource {
 		return ResponseEntity.ok().body(list);
 	}
 
+	// mesma página do findAll, no envelope enxuto (sem pageable/sort)
+	@GetMapping(params = "envelope=slim")
+	public ResponseEntity<ClientPageDTO> findAllSlim(
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		ClientPageDTO list = new ClientPageDTO(service.findAllPaged(pageRequest));
+		return ResponseEntity.ok().body(list);
+	}
+
+	@GetMapping(params = "ids")
+	public ResponseEntity<ClientLookupDTO> findByIds(@RequestParam(value = "ids") List<Long> ids) {
+		ClientLookupDTO result = service.findByIds(ids);
+		return ResponseEntity.ok().body(result);
+	}
+
+	@PostMapping(value = "/lookup")
+	public ResponseEntity<ClientLookupDTO> lookup(@RequestBody List<Long> ids) {
+		ClientLookupDTO result = service.findByIds(ids);
+		return ResponseEntity.ok().body(result);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<ClientSliceDTO> findAllKeyset(
+			@RequestParam(value = "after") String after,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		ClientSliceDTO slice = service.findAllKeyset(after, linesPerPage, Direction.valueOf(direction), orderBy);
+		return ResponseEntity.ok().body(slice);
+	}
+
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> export() {
+		StreamingResponseBody body = out -> service.exportAll(out);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping(value = "/search")
+	public ResponseEntity<List<ClientDTO>> searchByName(
+			@RequestParam(value = "name") String name,
+			@RequestParam(value = "prefix", defaultValue = "false") Boolean prefix,
+			@RequestParam(value = "limit", defaultValue = "50") Integer limit) {
+		List<ClientDTO> list = service.searchByName(name, prefix, limit);
+		return ResponseEntity.ok().body(list);
+	}
+
+	@GetMapping(value = "/stats")
+	public ResponseEntity<IncomeStatsDTO> incomeStats() {
+		IncomeStatsDTO stats = service.incomeStats();
+		return ResponseEntity.ok().body(stats);
+	}
+
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<ClientDTO> findById(@PathVariable Long id) {
 		ClientDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+		// com a ETag na resposta, um If-None-Match igual vira 304 sem corpo (o
+		// DTO nem chega a ser serializado)
+		return withETag(ResponseEntity.ok(), dto).body(dto);
 	}
 
 	@PostMapping
@@ -51,13 +134,44 @@ public class ClientResource {
 		dto = service.insert(dto);
 		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
 				.buildAndExpand(dto.getId()).toUri();
-		return ResponseEntity.created(uri).body(dto);
+		return withETag(ResponseEntity.created(uri), dto).body(dto);
+	}
+
+	@PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ClientBatchResultDTO> insertBatch(
+			@RequestBody List<ClientDTO> dtos,
+			@RequestParam(value = "chunkSize", required = false) Integer chunkSize) {
+		ClientBatchResultDTO result = service.insertBatch(dtos.iterator(), chunkSize);
+		return ResponseEntity.ok().body(result);
+	}
+
+	@PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<ClientBatchResultDTO> insertBatchNdjson(
+			HttpServletRequest request,
+			@RequestParam(value = "chunkSize", required = false) Integer chunkSize) throws IOException {
+		try (MappingIterator<ClientDTO> dtos = objectMapper.readerFor(ClientDTO.class)
+				.readValues(request.getInputStream())) {
+			ClientBatchResultDTO result = service.insertBatch(dtos, chunkSize);
+			return ResponseEntity.ok().body(result);
+		}
 	}
 
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<ClientDTO> update(@PathVariable Long id, @RequestBody ClientDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public ResponseEntity<ClientDTO> update(@PathVariable Long id, @RequestBody ClientDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		dto = service.update(id, dto, expectedVersion(ifMatch));
+		return withETag(ResponseEntity.ok(), dto).body(dto);
+	}
+
+	@PatchMapping(value = "/{id}")
+	public ResponseEntity<Void> patch(@PathVariable Long id, @RequestBody ObjectNode body,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+			throws JsonProcessingException {
+		ClientDTO changes = objectMapper.treeToValue(body, ClientDTO.class);
+		Set<String> fields = new HashSet<>();
+		body.fieldNames().forEachRemaining(fields::add);
+		service.patch(id, changes, fields, expectedVersion(ifMatch));
+		return ResponseEntity.noContent().build();
 	}
 
 	@DeleteMapping(value = "/{id}")
@@ -78,6 +192,19 @@ public class ClientResource {
 		return ResponseEntity.ok().body(list);
 	}
 
+	@GetMapping(value = "/income", params = "count")
+	public ResponseEntity<ClientSliceDTO> findSliceByIncome(
+			@RequestParam(value = "income") Double income,
+			@RequestParam(value = "count") String count,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		ClientSliceDTO slice = service.findSliceByIncome(income, pageRequest, isApproximate(count));
+		return ResponseEntity.ok().body(slice);
+	}
+
 	// Endpoint para buscar clientes com income maior que (paginação)
 	@GetMapping("/incomeGreaterThan")
 	public ResponseEntity<Page<ClientDTO>> findByIncomeGreaterThan(
@@ -90,4 +217,51 @@ public class ClientResource {
 		Page<ClientDTO> list = service.findByIncomeGreaterThan(income, pageRequest);
 		return ResponseEntity.ok().body(list);
 	}
+
+	@GetMapping(value = "/incomeGreaterThan", params = "count")
+	public ResponseEntity<ClientSliceDTO> findSliceByIncomeGreaterThan(
+			@RequestParam(value = "income") Double income,
+			@RequestParam(value = "count") String count,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		ClientSliceDTO slice = service.findSliceByIncomeGreaterThan(income, pageRequest, isApproximate(count));
+		return ResponseEntity.ok().body(slice);
+	}
+
+	// a ETag é a versão do cliente: muda a cada atualização gravada
+	private static BodyBuilder withETag(BodyBuilder builder, ClientDTO dto) {
+		return dto.getVersion() == null ? builder : builder.eTag("\"" + dto.getVersion() + "\"");
+	}
+
+	// If-Match ausente ou "*" aceita qualquer versão; a comparação é forte, então
+	// uma ETag fraca (W/) ou que não seja uma versão nunca confere
+	private static Long expectedVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+			try {
+				return Long.valueOf(tag.substring(1, tag.length() - 1));
+			} catch (NumberFormatException e) {
+				// cai no 412 abaixo
+			}
+		}
+		throw new PreconditionFailedException("If-Match does not match the current version");
+	}
+
+	// count=none devolve só hasNext; count=approximate inclui o total do histograma
+	private boolean isApproximate(String count) {
+		switch (count) {
+		case "none":
+			return false;
+		case "approximate":
+			return true;
+		default:
+			throw new InvalidRequestException("count must be none or approximate");
+		}
+	}
 }
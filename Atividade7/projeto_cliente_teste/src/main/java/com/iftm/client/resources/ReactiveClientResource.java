@@ -0,0 +1,94 @@
+package com.iftm.client.resources;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.services.ReactiveClientService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mesmas operações de {@link ClientResource} sobre o acesso reativo (R2DBC).
+ * As listas são {@code Flux<ClientDTO>}: com {@code Accept: application/x-ndjson}
+ * cada cliente é escrito conforme chega do banco, respeitando a demanda do
+ * consumidor; com {@code application/json} a página sai como um array.
+ */
+@RestController
+@RequestMapping(value = "/reactive/clients")
+public class ReactiveClientResource {
+
+	@Autowired
+	private ReactiveClientService service;
+
+	@GetMapping
+	public Flux<ClientDTO> findAll(
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		return service.findAllPaged(pageRequest);
+	}
+
+	@GetMapping(value = "/{id}")
+	public Mono<ClientDTO> findById(@PathVariable Long id) {
+		return service.findById(id);
+	}
+
+	@PostMapping
+	public Mono<ResponseEntity<ClientDTO>> insert(@RequestBody ClientDTO dto, UriComponentsBuilder uriBuilder) {
+		return service.insert(dto).map(inserted -> {
+			URI uri = uriBuilder.path("/reactive/clients/{id}").buildAndExpand(inserted.getId()).toUri();
+			return ResponseEntity.created(uri).body(inserted);
+		});
+	}
+
+	@PutMapping(value = "/{id}")
+	public Mono<ClientDTO> update(@PathVariable Long id, @RequestBody ClientDTO dto) {
+		return service.update(id, dto);
+	}
+
+	@DeleteMapping(value = "/{id}")
+	public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+		return service.delete(id).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+	}
+
+	@GetMapping("/income")
+	public Flux<ClientDTO> findByIncome(
+			@RequestParam(value = "income") Double income,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		return service.findByIncome(income, pageRequest);
+	}
+
+	@GetMapping("/incomeGreaterThan")
+	public Flux<ClientDTO> findByIncomeGreaterThan(
+			@RequestParam(value = "income") Double income,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "linesPerPage", defaultValue = "12") Integer linesPerPage,
+			@RequestParam(value = "direction", defaultValue = "ASC") String direction,
+			@RequestParam(value = "orderBy", defaultValue = "name") String orderBy) {
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		return service.findByIncomeGreaterThan(income, pageRequest);
+	}
+
+}
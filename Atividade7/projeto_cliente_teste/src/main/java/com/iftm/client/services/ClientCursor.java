@@ -0,0 +1,117 @@
+package com.iftm.client.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort.Direction;
+
+import com.iftm.client.entities.Client;
+import com.iftm.client.services.exceptions.InvalidRequestException;
+
+/**
+ * Cursor opaco da paginação por chave (keyset). Guarda o valor da coluna de
+ * ordenação e o id do último cliente entregue, codificados em Base64 URL-safe.
+ * O valor é gravado com o prefixo {@code =}; sem o prefixo, o último cliente
+ * não tinha valor na coluna (nome ou renda nulos).
+ */
+class ClientCursor {
+
+	private static final String SEPARATOR = "|";
+	private static final String VALUE_PREFIX = "=";
+
+	private final String orderBy;
+	private final Direction direction;
+	private final Long id;
+	private final String value;
+
+	private ClientCursor(String orderBy, Direction direction, Long id, String value) {
+		this.orderBy = orderBy;
+		this.direction = direction;
+		this.id = id;
+		this.value = value;
+	}
+
+	static ClientCursor of(Client last, String orderBy, Direction direction) {
+		String value;
+		switch (orderBy) {
+		case "name":
+			value = last.getName();
+			break;
+		case "income":
+			value = last.getIncome() == null ? null : String.valueOf(last.getIncome());
+			break;
+		default:
+			value = null;
+		}
+		return new ClientCursor(orderBy, direction, last.getId(), value);
+	}
+
+	/**
+	 * Cursor da primeira página: valor nulo e id anterior a todos, já que os
+	 * clientes sem valor na coluna vêm primeiro nas duas direções.
+	 */
+	static ClientCursor start(String orderBy, Direction direction) {
+		Long id = direction.isAscending() ? Long.MIN_VALUE : Long.MAX_VALUE;
+		return new ClientCursor(orderBy, direction, id, null);
+	}
+
+	/**
+	 * Decodifica o token recebido no parâmetro {@code after}. Retorna
+	 * {@code null} quando o token é vazio (primeira página).
+	 */
+	static ClientCursor decode(String token, String orderBy, Direction direction) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		String[] parts;
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			parts = raw.split("\\" + SEPARATOR, 4);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Invalid cursor");
+		}
+		if (parts.length != 4 || !parts[0].equals(orderBy) || !parts[1].equals(direction.name())) {
+			throw new InvalidRequestException("Cursor does not match orderBy/direction");
+		}
+		String value = parts[3].isEmpty() ? null : parts[3];
+		if (value != null && !value.startsWith(VALUE_PREFIX)) {
+			throw new InvalidRequestException("Invalid cursor");
+		}
+		try {
+			return new ClientCursor(parts[0], direction, Long.valueOf(parts[2]),
+					value == null ? null : value.substring(VALUE_PREFIX.length()));
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("Invalid cursor");
+		}
+	}
+
+	String encode() {
+		String raw = orderBy + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+				+ (value == null ? "" : VALUE_PREFIX + value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	Long getId() {
+		return id;
+	}
+
+	String getValue() {
+		return value;
+	}
+
+	boolean isNullValue() {
+		return value == null;
+	}
+
+	Double getIncome() {
+		if (value == null) {
+			return null;
+		}
+		try {
+			return Double.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("Invalid cursor");
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.iftm.client.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice invertido de trigramas sobre o nome normalizado dos clientes, mantido
+ * em memória. Responde buscas por substring sem percorrer a tabela: os ids
+ * candidatos vêm da menor lista de trigramas do termo e são confirmados contra
+ * o nome guardado. Só é usado quando {@code client.search.ngram-index.enabled}
+ * está ligado e o termo tem pelo menos três caracteres; reflete apenas as
+ * escritas feitas por esta instância.
+ */
+@Component
+public class ClientNameIndex {
+
+	static final int GRAM = 3;
+
+	private final boolean enabled;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, String> names = new HashMap<>();
+	private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+	private volatile boolean ready;
+
+	public ClientNameIndex(@Value("${client.search.ngram-index.enabled:false}") boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean canSearch(String term) {
+		return enabled && ready && term != null && term.length() >= GRAM;
+	}
+
+	/**
+	 * Retorna, em ordem crescente, até {@code limit} ids cujo nome normalizado
+	 * contém o termo (já normalizado).
+	 */
+	public List<Long> search(String term, int limit) {
+		lock.readLock().lock();
+		try {
+			NavigableSet<Long> smallest = null;
+			for (String gram : grams(term)) {
+				NavigableSet<Long> ids = postings.get(gram);
+				if (ids == null) {
+					return List.of();
+				}
+				if (smallest == null || ids.size() < smallest.size()) {
+					smallest = ids;
+				}
+			}
+			List<Long> result = new ArrayList<>();
+			for (Long id : smallest) {
+				if (names.get(id).contains(term)) {
+					result.add(id);
+					if (result.size() == limit) {
+						break;
+					}
+				}
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void put(Long id, String nameSearch) {
+		if (!enabled) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			removeEntry(id);
+			if (nameSearch != null) {
+				names.put(id, nameSearch);
+				for (String gram : grams(nameSearch)) {
+					postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(id);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long id) {
+		if (!enabled) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			removeEntry(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Descarta todas as entradas, antes de uma nova carga completa.
+	 */
+	void clear() {
+		lock.writeLock().lock();
+		try {
+			names.clear();
+			postings.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Marca o índice como completo. Chamado após a carga inicial.
+	 */
+	void markReady() {
+		ready = true;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return names.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void removeEntry(Long id) {
+		String previous = names.remove(id);
+		if (previous == null) {
+			return;
+		}
+		for (String gram : grams(previous)) {
+			Set<Long> ids = postings.get(gram);
+			if (ids != null) {
+				ids.remove(id);
+				if (ids.isEmpty()) {
+					postings.remove(gram);
+				}
+			}
+		}
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM));
+		}
+		return grams;
+	}
+
+}
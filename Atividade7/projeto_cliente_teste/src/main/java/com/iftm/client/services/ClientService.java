@@ -1,21 +1,65 @@
 package com.iftm.client.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.persistence.EntityNotFoundException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.iftm.client.config.CacheConfig;
+import com.iftm.client.dto.ClientBatchResultDTO;
+import com.iftm.client.dto.ClientBatchRowDTO;
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientLookupDTO;
+import com.iftm.client.dto.ClientSliceDTO;
+import com.iftm.client.dto.IncomeStatsDTO;
 import com.iftm.client.entities.Client;
+import com.iftm.client.entities.NameNormalizer;
 import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.repositories.projections.ClientNameView;
+import com.iftm.client.repositories.projections.ClientUpdateView;
 import com.iftm.client.services.exceptions.DatabaseException;
+import com.iftm.client.services.exceptions.InvalidRequestException;
+import com.iftm.client.services.exceptions.PreconditionFailedException;
 import com.iftm.client.services.exceptions.ResourceNotFoundException;
 
 @Service
@@ -24,12 +68,201 @@ public class ClientService {
 	@Autowired
 	private ClientRepository repository;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ClientNameIndex nameIndex;
+
+	@Autowired
+	private IncomeHistogram incomeHistogram;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	static final Set<String> UPDATABLE_FIELDS = Set.of("name", "cpf", "income", "birthDate", "children");
+
+	@Value("${client.batch.chunk-size:500}")
+	private int defaultChunkSize;
+
+	@Value("${client.batch.max-chunk-size:10000}")
+	private int maxChunkSize;
+
+	@Value("${client.lookup.chunk-size:500}")
+	private int lookupChunkSize;
+
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findAllPaged(PageRequest pageRequest) {
-		Page<Client> list = repository.findAll(pageRequest);
-		return list.map(x -> new ClientDTO(x));
+		return repository.findAllDto(pageRequest);
 	}
 
+	@Transactional(readOnly = true)
+	public ClientSliceDTO findAllKeyset(String after, Integer size, Direction direction, String orderBy) {
+		if (!orderBy.equals("name") && !orderBy.equals("income") && !orderBy.equals("id")) {
+			throw new InvalidRequestException("Keyset pagination supports orderBy name, income or id");
+		}
+		if (size == null || size < 1 || size > 1000) {
+			throw new InvalidRequestException("linesPerPage must be between 1 and 1000");
+		}
+		ClientCursor cursor = ClientCursor.decode(after, orderBy, direction);
+		if (cursor == null) {
+			cursor = ClientCursor.start(orderBy, direction);
+		}
+		Slice<Client> slice = findSlice(cursor, orderBy, direction, size);
+		List<ClientDTO> content = slice.getContent().stream().map(x -> new ClientDTO(x)).collect(Collectors.toList());
+		String next = null;
+		if (slice.hasNext()) {
+			Client last = slice.getContent().get(slice.getNumberOfElements() - 1);
+			next = ClientCursor.of(last, orderBy, direction).encode();
+		}
+		return new ClientSliceDTO(content, size, slice.hasNext(), next);
+	}
+
+	/**
+	 * Busca a fatia seguinte ao cursor. Nome e renda podem ser nulos: esses
+	 * clientes vêm antes dos demais, e um cursor sem valor usa as consultas que
+	 * continuam entre eles ({@code findSliceByNull...}).
+	 */
+	private Slice<Client> findSlice(ClientCursor cursor, String orderBy, Direction direction, int size) {
+		boolean asc = direction.isAscending();
+		Pageable pageable = PageRequest.of(0, size);
+		switch (orderBy) {
+		case "name":
+			if (cursor.isNullValue()) {
+				return asc ? repository.findSliceByNullNameAfter(cursor.getId(), pageable)
+						: repository.findSliceByNullNameBefore(cursor.getId(), pageable);
+			}
+			return asc ? repository.findSliceByNameAfter(cursor.getValue(), cursor.getId(), pageable)
+					: repository.findSliceByNameBefore(cursor.getValue(), cursor.getId(), pageable);
+		case "income":
+			if (cursor.isNullValue()) {
+				return asc ? repository.findSliceByNullIncomeAfter(cursor.getId(), pageable)
+						: repository.findSliceByNullIncomeBefore(cursor.getId(), pageable);
+			}
+			return asc ? repository.findSliceByIncomeAfter(cursor.getIncome(), cursor.getId(), pageable)
+					: repository.findSliceByIncomeBefore(cursor.getIncome(), cursor.getId(), pageable);
+		default:
+			pageable = PageRequest.of(0, size, Sort.by(direction, "id"));
+			return asc ? repository.findSliceByIdGreaterThan(cursor.getId(), pageable)
+					: repository.findSliceByIdLessThan(cursor.getId(), pageable);
+		}
+	}
+
+	/**
+	 * Escreve todos os clientes no formato NDJSON (um JSON por linha). Cada
+	 * entidade é desanexada após ser escrita, mantendo o contexto de persistência
+	 * vazio independente do tamanho da tabela.
+	 */
+	@Transactional(readOnly = true)
+	public void exportAll(OutputStream out) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(ClientDTO.class)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		try (Stream<Client> stream = repository.streamAll()) {
+			for (Client entity : (Iterable<Client>) stream::iterator) {
+				writer.writeValue(out, new ClientDTO(entity));
+				out.write('\n');
+				entityManager.detach(entity);
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Busca clientes pelo nome, ignorando maiúsculas e acentos. Com
+	 * {@code prefix} usa o índice {@code idx_client_name_search}; sem ele, usa o
+	 * índice de trigramas em memória quando disponível e, caso contrário, a
+	 * consulta {@code LIKE '%termo%'}. Os curingas {@code %} e {@code _} do termo
+	 * são escapados e comparados literalmente.
+	 */
+	@Transactional(readOnly = true)
+	public List<ClientDTO> searchByName(String name, boolean prefix, Integer limit) {
+		String term = NameNormalizer.normalize(name);
+		if (term == null || term.isEmpty()) {
+			throw new InvalidRequestException("name must not be blank");
+		}
+		if (limit < 1 || limit > 1000) {
+			throw new InvalidRequestException("limit must be between 1 and 1000");
+		}
+		List<Client> list;
+		if (prefix) {
+			list = repository.findByNameSearchStartingWith(ClientRepository.escapeLike(term),
+					PageRequest.of(0, limit, Sort.by("nameSearch", "id"))).getContent();
+		} else if (nameIndex.canSearch(term)) {
+			list = new ArrayList<>(repository.findAllById(nameIndex.search(term, limit)));
+			list.sort((a, b) -> a.getId().compareTo(b.getId()));
+		} else {
+			list = repository.findByNameSearchContaining(ClientRepository.escapeLike(term), PageRequest.of(0, limit));
+		}
+		return list.stream().map(x -> new ClientDTO(x)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Carrega o índice de trigramas a partir da tabela quando a aplicação sobe.
+	 * Entradas anteriores são descartadas.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuildNameIndex() {
+		if (!nameIndex.isEnabled()) {
+			return;
+		}
+		nameIndex.clear();
+		try (Stream<ClientNameView> stream = repository.streamNames()) {
+			stream.forEach(x -> nameIndex.put(x.getId(), x.getNameSearch()));
+		}
+		nameIndex.markReady();
+	}
+
+	/**
+	 * Carrega o histograma de rendas a partir da tabela quando a aplicação sobe.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuildIncomeHistogram() {
+		incomeHistogram.replace(repository.countByChildrenAndIncome());
+	}
+
+	/**
+	 * Busca vários clientes por id em uma única transação, com consultas
+	 * {@code IN} de até {@code client.lookup.chunk-size} ids. Ids repetidos são
+	 * considerados uma vez; os encontrados voltam na ordem pedida e os demais são
+	 * listados em {@code missing}, sem lançar exceção.
+	 */
+	@Transactional(readOnly = true)
+	public ClientLookupDTO findByIds(List<Long> ids) {
+		List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+		if (distinct.isEmpty() || distinct.size() > 10000) {
+			throw new InvalidRequestException("ids must contain between 1 and 10000 ids");
+		}
+		Map<Long, Client> byId = new HashMap<>();
+		for (int start = 0; start < distinct.size(); start += lookupChunkSize) {
+			List<Long> chunk = distinct.subList(start, Math.min(start + lookupChunkSize, distinct.size()));
+			for (Client entity : repository.findAllById(chunk)) {
+				byId.put(entity.getId(), entity);
+			}
+		}
+		List<ClientDTO> found = new ArrayList<>();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : distinct) {
+			Client entity = byId.get(id);
+			if (entity != null) {
+				found.add(new ClientDTO(entity));
+			} else {
+				missing.add(id);
+			}
+		}
+		return new ClientLookupDTO(found, missing);
+	}
+
+	/**
+	 * Busca o cliente pelo id, pelo cache. Com {@code sync}, a carga passa por
+	 * {@code BoundedCache.get(key, loader)}, que descarta o valor lido se uma
+	 * atualização ou remoção do mesmo cliente chegou ao cache durante a leitura.
+	 */
+	@Cacheable(value = CacheConfig.CLIENTS, key = "#id", sync = true)
 	@Transactional(readOnly = true)
 	public ClientDTO findById(Long id) {
 		Optional<Client> obj = repository.findById(id);
@@ -37,28 +270,260 @@ public class ClientService {
 		return new ClientDTO(entity);
 	}
 
+	@CachePut(value = CacheConfig.CLIENTS, key = "#result.id")
 	@Transactional
 	public ClientDTO insert(ClientDTO dto) {
 		Client entity = dto.toEntity();
 		entity = repository.save(entity);
+		Long id = entity.getId();
+		String nameSearch = entity.getNameSearch();
+		Double income = entity.getIncome();
+		Integer children = entity.getChildren();
+		afterCommit(() -> {
+			nameIndex.put(id, nameSearch);
+			incomeHistogram.add(income, children);
+		});
 		return new ClientDTO(entity);
 	}
 
-	@Transactional
-	public ClientDTO update(Long id, ClientDTO dto) {
+	/**
+	 * Insere os clientes em blocos de {@code chunkSize} linhas (até
+	 * {@code client.batch.max-chunk-size}), cada bloco em um único lote JDBC. Se
+	 * um bloco falhar, suas linhas são reenviadas uma a uma para identificar
+	 * quais foram rejeitadas. Uma linha com JSON inválido encerra a leitura: as
+	 * linhas anteriores são inseridas e ela entra no resultado como falha.
+	 */
+	public ClientBatchResultDTO insertBatch(Iterator<ClientDTO> dtos, Integer chunkSize) {
+		int size = chunkSize != null ? chunkSize : defaultChunkSize;
+		if (size < 1 || size > maxChunkSize) {
+			throw new InvalidRequestException("chunkSize must be between 1 and " + maxChunkSize);
+		}
+		long start = System.nanoTime();
+		List<ClientBatchRowDTO> rows = new ArrayList<>();
+		// sem pré-alocar: o tamanho vem da requisição e o corpo pode ser menor
+		List<Client> chunk = new ArrayList<>();
+		while (true) {
+			try {
+				if (!dtos.hasNext()) {
+					break;
+				}
+				chunk.add(dtos.next().toEntity());
+			} catch (RuntimeException e) {
+				if (!isMalformedJson(e)) {
+					throw e;
+				}
+				insertChunk(chunk, rows);
+				rows.add(new ClientBatchRowDTO(rows.size(), null, ClientBatchRowDTO.FAILED, "Malformed JSON"));
+				break;
+			}
+			if (chunk.size() == size) {
+				insertChunk(chunk, rows);
+			}
+		}
+		insertChunk(chunk, rows);
+		return new ClientBatchResultDTO(rows, size, System.nanoTime() - start);
+	}
+
+	// o MappingIterator lança RuntimeJsonMappingException para JSON com tipos
+	// errados, mas um RuntimeException comum envolvendo a JsonParseException
+	// para erro de sintaxe; outras falhas de leitura (conexão caída) seguem
+	private static boolean isMalformedJson(RuntimeException e) {
+		return e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException;
+	}
+
+	private void insertChunk(List<Client> chunk, List<ClientBatchRowDTO> rows) {
+		if (chunk.isEmpty()) {
+			return;
+		}
 		try {
-			Client entity = repository.getOne(id);
-			updateData(entity, dto);
-			entity = repository.save(entity);
-			return new ClientDTO(entity);
-		} catch (EntityNotFoundException e) {
-			throw new ResourceNotFoundException("Id not found " + id);
+			List<Long> ids = repository.batchInsert(chunk);
+			for (int i = 0; i < ids.size(); i++) {
+				nameIndex.put(ids.get(i), chunk.get(i).getNameSearch());
+				incomeHistogram.add(chunk.get(i).getIncome(), chunk.get(i).getChildren());
+				rows.add(new ClientBatchRowDTO(rows.size(), ids.get(i), ClientBatchRowDTO.CREATED, null));
+			}
+		} catch (DataAccessException e) {
+			for (Client entity : chunk) {
+				try {
+					Long id = repository.batchInsert(List.of(entity)).get(0);
+					nameIndex.put(id, entity.getNameSearch());
+					incomeHistogram.add(entity.getIncome(), entity.getChildren());
+					rows.add(new ClientBatchRowDTO(rows.size(), id, ClientBatchRowDTO.CREATED, null));
+				} catch (DataIntegrityViolationException rowError) {
+					rows.add(new ClientBatchRowDTO(rows.size(), null, ClientBatchRowDTO.FAILED, "Integrity violation"));
+				} catch (DataAccessException rowError) {
+					rows.add(new ClientBatchRowDTO(rows.size(), null, ClientBatchRowDTO.FAILED, "Insert failed"));
+				}
+			}
+		}
+		chunk.clear();
+	}
+
+	/**
+	 * Substitui todos os campos do cliente. Com o cliente no cache (na versão
+	 * de {@code expectedVersion}, quando informada), é um único UPDATE: a renda
+	 * e os filhos anteriores, que o histograma precisa, vêm do cache. Sem ele,
+	 * esses valores são lidos antes (três colunas, pela chave primária).
+	 * Com {@code expectedVersion}, a atualização só é feita se a versão atual
+	 * for a informada; do contrário lança {@link PreconditionFailedException}.
+	 * Sem ela, uma escrita concorrente nunca causa esse erro.
+	 */
+	@CachePut(value = CacheConfig.CLIENTS, key = "#id")
+	@Transactional
+	public ClientDTO update(Long id, ClientDTO dto, Long expectedVersion) {
+		Long version = updateFields(id, expectedVersion, dto, UPDATABLE_FIELDS);
+		return new ClientDTO(id, dto.getName(), dto.getCpf(), dto.getIncome(), dto.getBirthDate(), dto.getChildren(),
+				version);
+	}
+
+	/**
+	 * Atualiza só os campos informados em {@code fields}, com um único UPDATE
+	 * que escreve apenas essas colunas. Como a linha completa não é lida, a
+	 * entrada do cliente é removida do cache em vez de atualizada.
+	 */
+	@CacheEvict(value = CacheConfig.CLIENTS, key = "#id")
+	@Transactional
+	public void patch(Long id, ClientDTO changes, Set<String> fields, Long expectedVersion) {
+		if (fields.isEmpty()) {
+			throw new InvalidRequestException("No fields to update");
+		}
+		for (String field : fields) {
+			if (!UPDATABLE_FIELDS.contains(field)) {
+				throw new InvalidRequestException("Field cannot be updated: " + field);
+			}
+		}
+		updateFields(id, expectedVersion, changes, fields);
+	}
+
+	/**
+	 * Grava os campos e devolve a nova versão da linha, ou {@code null} quando
+	 * ela não é conhecida (nenhuma versão informada e a linha não foi lida).
+	 */
+	private Long updateFields(Long id, Long expectedVersion, ClientDTO changes, Set<String> fields) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		String nameSearch = NameNormalizer.normalize(changes.getName());
+		if (fields.contains("name")) {
+			values.put("name", changes.getName());
+			values.put("nameSearch", nameSearch);
+		}
+		if (fields.contains("cpf")) {
+			values.put("cpf", changes.getCpf());
+		}
+		if (fields.contains("income")) {
+			values.put("income", changes.getIncome());
+		}
+		if (fields.contains("birthDate")) {
+			values.put("birthDate", changes.getBirthDate());
+		}
+		if (fields.contains("children")) {
+			values.put("children", changes.getChildren());
+		}
+		boolean statsChanged = fields.contains("income") || fields.contains("children");
+		if (!statsChanged) {
+			if (repository.updateFields(id, expectedVersion, values) == 0) {
+				throw notUpdated(id, expectedVersion);
+			}
+			afterCommit(() -> {
+				if (fields.contains("name")) {
+					nameIndex.put(id, nameSearch);
+				}
+			});
+			return expectedVersion == null ? null : expectedVersion + 1;
+		}
+		// o histograma precisa da renda e dos filhos anteriores: vêm do cache quando
+		// ele tem o cliente (na versão esperada), senão são lidos pela chave
+		// primária. O UPDATE confere a versão de onde vieram, para que a diferença
+		// aplicada ao histograma seja exata
+		ClientUpdateView previous = cachedUpdateView(id, expectedVersion);
+		if (previous == null) {
+			previous = readUpdateView(id, expectedVersion);
 		}
+		while (repository.updateFields(id, previous.getVersion(), values) == 0) {
+			if (expectedVersion != null) {
+				throw notUpdated(id, expectedVersion);
+			}
+			// sem versão informada pelo cliente, uma escrita concorrente (ou um
+			// cache desatualizado) não é erro: lê de novo e repete
+			previous = readUpdateView(id, null);
+		}
+		Double previousIncome = previous.getIncome();
+		Integer previousChildren = previous.getChildren();
+		Double income = fields.contains("income") ? changes.getIncome() : previousIncome;
+		Integer children = fields.contains("children") ? changes.getChildren() : previousChildren;
+		afterCommit(() -> {
+			if (fields.contains("name")) {
+				nameIndex.put(id, nameSearch);
+			}
+			incomeHistogram.remove(previousIncome, previousChildren);
+			incomeHistogram.add(income, children);
+		});
+		return previous.getVersion() + 1;
+	}
+
+	/**
+	 * Versão, renda e filhos do cliente segundo o cache, ou {@code null} quando
+	 * ele não está no cache ou está em outra versão que a esperada.
+	 */
+	private ClientUpdateView cachedUpdateView(Long id, Long expectedVersion) {
+		Cache cache = cacheManager.getCache(CacheConfig.CLIENTS);
+		ClientDTO cached = cache == null ? null : cache.get(id, ClientDTO.class);
+		if (cached == null || cached.getVersion() == null
+				|| (expectedVersion != null && !expectedVersion.equals(cached.getVersion()))) {
+			return null;
+		}
+		return new ClientUpdateView() {
+			@Override
+			public Long getVersion() {
+				return cached.getVersion();
+			}
+
+			@Override
+			public Double getIncome() {
+				return cached.getIncome();
+			}
+
+			@Override
+			public Integer getChildren() {
+				return cached.getChildren();
+			}
+		};
+	}
+
+	private ClientUpdateView readUpdateView(Long id, Long expectedVersion) {
+		ClientUpdateView previous = repository.findUpdateViewById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Id not found " + id));
+		if (expectedVersion != null && !expectedVersion.equals(previous.getVersion())) {
+			throw new PreconditionFailedException("Version mismatch for id " + id);
+		}
+		return previous;
+	}
+
+	/**
+	 * Motivo de um UPDATE que não afetou nenhuma linha: o id não existe ou a
+	 * versão informada não é a atual.
+	 */
+	private RuntimeException notUpdated(Long id, Long expectedVersion) {
+		if (expectedVersion == null || !repository.existsById(id)) {
+			return new ResourceNotFoundException("Id not found " + id);
+		}
+		return new PreconditionFailedException("Version mismatch for id " + id);
 	}
 
+	@CacheEvict(value = CacheConfig.CLIENTS, key = "#id")
+	@Transactional
 	public void delete(Long id) {
 		try {
+			// carrega a linha antes de apagar; o deleteById reaproveita a entidade já
+			// carregada no contexto de persistência
+			Optional<Client> previous = repository.findById(id);
+			Double income = previous.map(Client::getIncome).orElse(null);
+			Integer children = previous.map(Client::getChildren).orElse(null);
 			repository.deleteById(id);
+			repository.flush();
+			afterCommit(() -> {
+				nameIndex.remove(id);
+				incomeHistogram.remove(income, children);
+			});
 		} catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -66,23 +531,67 @@ public class ClientService {
 		}
 	}
 
-	private void updateData(Client entity, ClientDTO dto) {
-		entity.setName(dto.getName());
-		entity.setCpf(dto.getCpf());
-		entity.setIncome(dto.getIncome());
-		entity.setBirthDate(dto.getBirthDate());
-		entity.setChildren(dto.getChildren());
+	/**
+	 * Executa a ação após o commit da transação corrente, ou imediatamente se
+	 * não houver transação. Mantém as estruturas em memória alinhadas ao que foi
+	 * de fato gravado.
+	 */
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
 	}
 
 	@Transactional(readOnly = true)
 	public Page<ClientDTO> findByIncome(Double income, PageRequest pageRequest) {
-		Page<Client> list = repository.findByIncome(income, pageRequest);
-		return list.map(x -> new ClientDTO(x));
+		return repository.findDtoByIncome(income, pageRequest);
 	}
 
 	public Page<ClientDTO> findByIncomeGreaterThan(Double income, PageRequest pageRequest) {
-		Page<Client> list = repository.findByIncomeGreaterThan(income, pageRequest);
-		return list.map(x -> new ClientDTO(x));
+		return repository.findDtoByIncomeGreaterThan(income, pageRequest);
+	}
+
+	/**
+	 * Versão de {@link #findByIncome} sem {@code count(*)}. Com
+	 * {@code approximate}, o total vem do histograma de rendas.
+	 */
+	@Transactional(readOnly = true)
+	public ClientSliceDTO findSliceByIncome(Double income, PageRequest pageRequest, boolean approximate) {
+		Slice<Client> slice = repository.findSliceByIncome(income, pageRequest);
+		return toSliceDTO(slice, approximate ? incomeHistogram.countEqual(income) : null);
+	}
+
+	/**
+	 * Versão de {@link #findByIncomeGreaterThan} sem {@code count(*)}. Com
+	 * {@code approximate}, o total vem do histograma de rendas.
+	 */
+	@Transactional(readOnly = true)
+	public ClientSliceDTO findSliceByIncomeGreaterThan(Double income, PageRequest pageRequest, boolean approximate) {
+		Slice<Client> slice = repository.findSliceByIncomeGreaterThan(income, pageRequest);
+		return toSliceDTO(slice, approximate ? incomeHistogram.countGreaterThan(income) : null);
+	}
+
+	/**
+	 * Estatísticas de renda (geral e por número de filhos) lidas do histograma em
+	 * memória, sem consultar a tabela.
+	 */
+	public IncomeStatsDTO incomeStats() {
+		return incomeHistogram.stats();
+	}
+
+	private ClientSliceDTO toSliceDTO(Slice<Client> slice, Long approximateTotal) {
+		List<ClientDTO> content = slice.getContent().stream().map(x -> new ClientDTO(x)).collect(Collectors.toList());
+		ClientSliceDTO dto = new ClientSliceDTO(content, slice.getSize(), slice.hasNext(), null);
+		dto.setNumber(slice.getNumber());
+		dto.setApproximateTotal(approximateTotal);
+		return dto;
 	}
 
 }
@@ -0,0 +1,124 @@
+package com.iftm.client.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import com.iftm.client.dto.IncomeStatsDTO;
+import com.iftm.client.repositories.projections.IncomeCountView;
+
+/**
+ * Histograma em memória da quantidade de clientes por valor de renda, geral e
+ * por número de filhos. É carregado da tabela na subida da aplicação e
+ * atualizado pelo {@link ClientService} após cada commit. Serve de total
+ * aproximado para as buscas por renda e das estatísticas de
+ * {@code GET /clients/stats}, sem executar consultas. Não enxerga escritas
+ * feitas fora desta instância.
+ */
+@Component
+public class IncomeHistogram {
+
+	static final int[] PERCENTILES = { 25, 50, 75, 90, 99 };
+
+	private Bucket all = new Bucket();
+	private Map<Integer, Bucket> byChildren = new TreeMap<>();
+
+	public synchronized void add(Double income, Integer children) {
+		if (income == null) {
+			return;
+		}
+		all.add(income, 1);
+		if (children != null) {
+			byChildren.computeIfAbsent(children, k -> new Bucket()).add(income, 1);
+		}
+	}
+
+	public synchronized void remove(Double income, Integer children) {
+		if (income == null) {
+			return;
+		}
+		all.add(income, -1);
+		if (children != null && byChildren.containsKey(children)) {
+			Bucket bucket = byChildren.get(children);
+			bucket.add(income, -1);
+			if (bucket.count == 0) {
+				byChildren.remove(children);
+			}
+		}
+	}
+
+	public synchronized void replace(List<IncomeCountView> totals) {
+		all = new Bucket();
+		byChildren = new TreeMap<>();
+		for (IncomeCountView row : totals) {
+			all.add(row.getIncome(), row.getTotal());
+			if (row.getChildren() != null) {
+				byChildren.computeIfAbsent(row.getChildren(), k -> new Bucket()).add(row.getIncome(), row.getTotal());
+			}
+		}
+	}
+
+	public synchronized long countEqual(Double income) {
+		return all.counts.getOrDefault(income, 0L);
+	}
+
+	public synchronized long countGreaterThan(Double income) {
+		long total = 0;
+		for (Long count : all.counts.tailMap(income, false).values()) {
+			total += count;
+		}
+		return total;
+	}
+
+	public synchronized IncomeStatsDTO stats() {
+		IncomeStatsDTO dto = all.stats();
+		Map<Integer, IncomeStatsDTO> children = new LinkedHashMap<>();
+		byChildren.forEach((k, bucket) -> children.put(k, bucket.stats()));
+		dto.setByChildren(children);
+		return dto;
+	}
+
+	private static final class Bucket {
+		private final NavigableMap<Double, Long> counts = new TreeMap<>();
+		private long count;
+		private double sum;
+
+		private void add(Double income, long delta) {
+			Long current = counts.get(income);
+			if (current == null && delta < 0) {
+				return;
+			}
+			long updated = (current == null ? 0 : current) + delta;
+			if (updated > 0) {
+				counts.put(income, updated);
+			} else {
+				counts.remove(income);
+			}
+			count += delta;
+			sum += income * delta;
+		}
+
+		private IncomeStatsDTO stats() {
+			if (count == 0) {
+				return new IncomeStatsDTO(0L, 0.0, null, null, null, Map.of());
+			}
+			Map<String, Double> percentiles = new LinkedHashMap<>();
+			int next = 0;
+			long seen = 0;
+			for (Map.Entry<Double, Long> entry : counts.entrySet()) {
+				seen += entry.getValue();
+				// posição pelo método nearest-rank: ceil(p / 100 * count)
+				while (next < PERCENTILES.length && seen >= (long) Math.ceil(PERCENTILES[next] / 100.0 * count)) {
+					percentiles.put("p" + PERCENTILES[next], entry.getKey());
+					next++;
+				}
+			}
+			return new IncomeStatsDTO(count, sum, counts.firstKey(), counts.lastKey(), sum / count, percentiles);
+		}
+	}
+
+}
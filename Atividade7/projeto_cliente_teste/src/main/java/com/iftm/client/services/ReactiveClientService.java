@@ -0,0 +1,143 @@
+package com.iftm.client.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.iftm.client.config.CacheConfig;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.repositories.ReactiveClientRepository;
+import com.iftm.client.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Versão não bloqueante do {@link ClientService}, sobre R2DBC. As escritas
+ * rodam em uma transação reativa e, depois do commit, atualizam as mesmas
+ * estruturas em memória da API bloqueante (índice de nomes, histograma de
+ * rendas e cache de {@code findById}).
+ */
+@Service
+public class ReactiveClientService {
+
+	@Autowired
+	private ReactiveClientRepository repository;
+
+	@Autowired
+	private TransactionalOperator reactiveTransactionalOperator;
+
+	@Autowired
+	private ClientNameIndex nameIndex;
+
+	@Autowired
+	private IncomeHistogram incomeHistogram;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	public Flux<ClientDTO> findAllPaged(PageRequest pageRequest) {
+		return repository.findAllBy(pageRequest).map(x -> new ClientDTO(x));
+	}
+
+	public Mono<ClientDTO> findById(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")))
+				.map(x -> new ClientDTO(x));
+	}
+
+	public Mono<ClientDTO> insert(ClientDTO dto) {
+		Client entity = dto.toEntity();
+		entity.setId(null);
+		return repository.save(entity)
+				.flatMap(saved -> afterCommit(() -> {
+					nameIndex.put(saved.getId(), saved.getNameSearch());
+					incomeHistogram.add(saved.getIncome(), saved.getChildren());
+				}).thenReturn(saved))
+				.as(reactiveTransactionalOperator::transactional)
+				.map(x -> new ClientDTO(x));
+	}
+
+	/**
+	 * Substitui todos os campos do cliente. A rota reativa não aceita
+	 * {@code If-Match}: quando outra escrita muda a linha entre a leitura e o
+	 * {@code save} (versionado), a transação inteira é repetida com a linha
+	 * relida, e vale a última escrita, como no {@link ClientService#update} sem
+	 * versão informada.
+	 */
+	public Mono<ClientDTO> update(Long id, ClientDTO dto) {
+		return Mono.defer(() -> repository.findById(id))
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Id not found " + id)))
+				.flatMap(entity -> {
+					Double previousIncome = entity.getIncome();
+					Integer previousChildren = entity.getChildren();
+					updateData(entity, dto);
+					return repository.save(entity).flatMap(saved -> afterCommit(() -> {
+						clientsCache().evict(id);
+						nameIndex.put(id, saved.getNameSearch());
+						incomeHistogram.remove(previousIncome, previousChildren);
+						incomeHistogram.add(saved.getIncome(), saved.getChildren());
+					}).thenReturn(saved));
+				})
+				.as(reactiveTransactionalOperator::transactional)
+				.retryWhen(Retry.indefinitely().filter(OptimisticLockingFailureException.class::isInstance))
+				.map(x -> new ClientDTO(x));
+	}
+
+	public Mono<Void> delete(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Id not found " + id)))
+				.flatMap(entity -> repository.delete(entity).then(afterCommit(() -> {
+					clientsCache().evict(id);
+					nameIndex.remove(id);
+					incomeHistogram.remove(entity.getIncome(), entity.getChildren());
+				})))
+				.as(reactiveTransactionalOperator::transactional);
+	}
+
+	public Flux<ClientDTO> findByIncome(Double income, PageRequest pageRequest) {
+		return repository.findByIncome(income, pageRequest).map(x -> new ClientDTO(x));
+	}
+
+	public Flux<ClientDTO> findByIncomeGreaterThan(Double income, PageRequest pageRequest) {
+		return repository.findByIncomeGreaterThan(income, pageRequest).map(x -> new ClientDTO(x));
+	}
+
+	private void updateData(Client entity, ClientDTO dto) {
+		entity.setName(dto.getName());
+		entity.setCpf(dto.getCpf());
+		entity.setIncome(dto.getIncome());
+		entity.setBirthDate(dto.getBirthDate());
+		entity.setChildren(dto.getChildren());
+	}
+
+	/**
+	 * Executa a ação depois do commit da transação reativa atual, ou na hora
+	 * quando não há transação.
+	 */
+	private Mono<Void> afterCommit(Runnable action) {
+		return TransactionSynchronizationManager.forCurrentTransaction()
+				.doOnNext(synchronizations -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public Mono<Void> afterCommit() {
+						return Mono.fromRunnable(action);
+					}
+				}))
+				.then()
+				.onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action));
+	}
+
+	private Cache clientsCache() {
+		return cacheManager.getCache(CacheConfig.CLIENTS);
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.iftm.client.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    private AtomicLong clock;
+    private BoundedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        cache = new BoundedCache("clients", 2, Duration.ofSeconds(10), clock::get);
+    }
+
+    /**
+     * Testa se o cache conta acertos e falhas nas consultas, e as gravações.
+     */
+    @Test
+    void getShouldCountHitsAndMisses() {
+        cache.put(1L, "Conceição");
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(1L, stats.getMisses());
+        assertEquals(1L, stats.getPuts());
+    }
+
+    /**
+     * Testa se a entrada menos usada é descartada ao ultrapassar o tamanho
+     * máximo.
+     */
+    @Test
+    void putShouldEvictLeastRecentlyUsedWhenFull() {
+        cache.put(1L, "Conceição");
+        cache.put(2L, "Lázaro");
+        cache.get(1L);
+        cache.put(3L, "Clarice");
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(1L, cache.getStats().getEvictions());
+    }
+
+    /**
+     * Testa se a entrada expira depois do tempo de vida configurado.
+     */
+    @Test
+    void getShouldExpireEntryAfterTtl() {
+        cache.put(1L, "Conceição");
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertNull(cache.get(1L));
+        assertEquals(1L, cache.getStats().getEvictions());
+    }
+
+    /**
+     * Testa se um valor com versão menor que a da entrada atual não a
+     * substitui.
+     */
+    @Test
+    void putShouldIgnoreOlderVersion() {
+        BoundedCache versioned = new BoundedCache("clients", 2, Duration.ofSeconds(10), clock::get,
+                value -> Long.valueOf(value.toString().split(":")[0]));
+        versioned.put(1L, "2:Conceição Evaristo");
+
+        versioned.put(1L, "1:Conceição");
+
+        assertEquals("2:Conceição Evaristo", versioned.get(1L).get());
+    }
+
+    /**
+     * Testa se o valor carregado não é guardado quando uma gravação ou remoção
+     * da mesma chave acontece durante a carga.
+     */
+    @Test
+    void getWithLoaderShouldNotCacheValueWrittenDuringLoad() {
+        String loaded = cache.get(1L, () -> {
+            cache.put(1L, "Conceição Evaristo");
+            return "Conceição";
+        });
+        cache.get(2L, () -> {
+            cache.evict(2L);
+            return "Lázaro";
+        });
+
+        assertEquals("Conceição", loaded);
+        assertEquals("Conceição Evaristo", cache.get(1L).get());
+        assertNull(cache.get(2L));
+        assertEquals("Clarice", cache.get(3L, () -> "Clarice"));
+        assertEquals("Clarice", cache.get(3L).get());
+    }
+
+    /**
+     * Testa se evict remove a entrada do cache.
+     */
+    @Test
+    void evictShouldRemoveEntry() {
+        cache.put(1L, "Conceição");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+    }
+
+}
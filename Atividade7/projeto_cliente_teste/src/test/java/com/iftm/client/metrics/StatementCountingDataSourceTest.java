@@ -0,0 +1,69 @@
+package com.iftm.client.metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class StatementCountingDataSourceTest {
+
+    private SqlStatementCounter counter;
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter();
+        dataSource = new StatementCountingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:counting;DB_CLOSE_DELAY=-1", "sa", ""),
+                counter, 0.0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Testa se cada execução conta um comando e cada linha percorrida no
+     * ResultSet conta uma linha, na thread atual e no total.
+     */
+    @Test
+    void executeShouldCountStatementsAndRows() throws Exception {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS t (id INT)");
+            st.executeUpdate("INSERT INTO t VALUES (1), (2), (3)");
+            counter.reset();
+
+            try (PreparedStatement ps = con.prepareStatement("SELECT id FROM t WHERE id > ?")) {
+                ps.setInt(1, 1);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getInt(1);
+                    }
+                }
+            }
+        }
+
+        assertEquals(1, counter.getStatements());
+        assertEquals(2, counter.getRows());
+        assertEquals(3, counter.getTotalStatements());
+    }
+
+    /**
+     * Testa se o proxy da conexão expõe a conexão real para o Spring e tem
+     * igualdade por identidade.
+     */
+    @Test
+    void connectionProxyShouldExposeTargetConnection() throws Exception {
+        try (Connection con = dataSource.getConnection()) {
+            Connection target = DataSourceUtils.getTargetConnection(con);
+
+            assertNotSame(con, target);
+            assertEquals(con, con);
+            assertNotEquals(con, target);
+        }
+    }
+}
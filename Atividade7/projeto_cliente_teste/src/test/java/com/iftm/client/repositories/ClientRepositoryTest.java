@@ -2,23 +2,49 @@ package com.iftm.client.repositories;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.iftm.client.support.StatementCountAssertions.assertMaxStatements;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import com.iftm.client.config.SqlCountingConfig;
+import com.iftm.client.dto.ClientDTO;
 import com.iftm.client.entities.Client;
+import com.iftm.client.metrics.SqlStatementCounter;
+import com.iftm.client.repositories.projections.ClientBirthDateView;
+import com.iftm.client.repositories.projections.ClientIncomeView;
+import com.iftm.client.repositories.projections.IncomeCountView;
 
 @DataJpaTest
+@Import(SqlCountingConfig.class)
 public class ClientRepositoryTest {
 
     @Autowired
     private ClientRepository repositorioCliente;
 
+    @Autowired
+    private SqlStatementCounter contadorSql;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     /**
      * Testa a busca de clientes cujo nome contém uma palavra específica, ignorando
      * diferenças de maiúsculas e minúsculas.
@@ -201,4 +227,319 @@ public class ClientRepositoryTest {
         assertNull(resultado);
     }
 
-}
\ No newline at end of file
+    /**
+     * Testa a paginação por chave (keyset) ordenada por nome.
+     * Verifica se a fatia começa logo após o cursor (nome, id) informado.
+     */
+    @Test
+    @DisplayName("Verifica a busca de clientes posteriores a um cursor de nome e id.")
+    void testaBuscaFatiaPorNomeAposCursor() {
+        // Arrange
+        Client cursor = repositorioCliente.findClientByNameIgnoreCase("Jorge Amado");
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name", "id"));
+
+        // Act
+        Slice<Client> resultado = repositorioCliente.findSliceByNameAfter(cursor.getName(), cursor.getId(),
+                pageRequest);
+
+        // Assert
+        assertEquals(2, resultado.getNumberOfElements());
+        assertEquals("Jose Saramago", resultado.getContent().get(0).getName());
+        assertEquals("Lázaro Ramos", resultado.getContent().get(1).getName());
+        assertTrue(resultado.hasNext());
+    }
+
+    /**
+     * Testa a paginação por chave (keyset) ordenada por renda decrescente.
+     * Verifica se o desempate por id mantém os clientes de mesma renda.
+     */
+    @Test
+    @DisplayName("Verifica a busca de clientes anteriores a um cursor de renda e id.")
+    void testaBuscaFatiaPorRendaAntesDoCursor() {
+        // Arrange
+        Client cursor = repositorioCliente.findClientByNameIgnoreCase("Chimamanda Adichie");
+        PageRequest pageRequest = PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "income", "id"));
+
+        // Act
+        Slice<Client> resultado = repositorioCliente.findSliceByIncomeBefore(cursor.getIncome(), cursor.getId(),
+                pageRequest);
+
+        // Assert
+        assertEquals(2, resultado.getNumberOfElements());
+        assertEquals("Yuval Noah Harari", resultado.getContent().get(0).getName());
+        assertEquals("Conceição Evaristo", resultado.getContent().get(1).getName());
+        assertFalse(resultado.hasNext());
+    }
+
+    /**
+     * Testa a leitura de todos os clientes via stream.
+     * Verifica se todos os registros do import.sql são percorridos em ordem de id.
+     */
+    @Test
+    @DisplayName("Verifica a leitura de todos os clientes via stream ordenado por id.")
+    void testaStreamDeTodosOsClientes() {
+        // Act
+        List<Client> resultado;
+        try (Stream<Client> stream = repositorioCliente.streamAll()) {
+            resultado = stream.collect(Collectors.toList());
+        }
+
+        // Assert
+        assertEquals(12, resultado.size());
+        assertEquals("Conceição Evaristo", resultado.get(0).getName());
+        assertEquals("Jorge Amado", resultado.get(11).getName());
+    }
+
+    /**
+     * Testa a inserção em lote via JDBC.
+     * Verifica se os ids gerados são devolvidos na ordem e os clientes persistidos.
+     */
+    @Test
+    @DisplayName("Verifica a inserção de clientes em lote retornando os ids gerados.")
+    void testaInsercaoEmLote() {
+        // Arrange
+        List<Client> clientes = List.of(
+                new Client(null, "Ailton Krenak", "10619244000", 3200.0, Instant.parse("1953-09-29T07:00:00Z"), 1),
+                new Client(null, "Sueli Carneiro", "10619244001", 4100.0, Instant.parse("1950-06-24T07:00:00Z"), 1));
+
+        // Act
+        List<Long> ids = repositorioCliente.batchInsert(clientes);
+
+        // Assert
+        assertEquals(2, ids.size());
+        assertEquals("Ailton Krenak", repositorioCliente.findById(ids.get(0)).get().getName());
+        assertEquals("Sueli Carneiro", repositorioCliente.findById(ids.get(1)).get().getName());
+        assertEquals(Instant.parse("1950-06-24T07:00:00Z"), repositorioCliente.findById(ids.get(1)).get().getBirthDate());
+    }
+
+    /**
+     * Testa a busca por nome ignorando acentos.
+     * Verifica se "conceicao" encontra "Conceição Evaristo" e "LAZARO" encontra
+     * "Lázaro Ramos".
+     */
+    @Test
+    @DisplayName("Verifica a busca de clientes por nome ignorando acentos.")
+    void testaBuscaClientesPorNomeIgnorandoAcentos() {
+        // Act
+        List<Client> conceicao = repositorioCliente.findClientsByNameContaining("conceicao");
+        Client lazaro = repositorioCliente.findClientByNameIgnoreCase("LAZARO RAMOS");
+
+        // Assert
+        assertEquals(1, conceicao.size());
+        assertEquals("Conceição Evaristo", conceicao.get(0).getName());
+        assertNotNull(lazaro);
+        assertEquals("Lázaro Ramos", lazaro.getName());
+    }
+
+    /**
+     * Testa a busca por prefixo do nome normalizado.
+     * Verifica se os clientes retornados começam com o termo.
+     */
+    @Test
+    @DisplayName("Verifica a busca de clientes por prefixo do nome normalizado.")
+    void testaBuscaClientesPorPrefixoDoNome() {
+        // Arrange
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("nameSearch"));
+
+        // Act
+        Slice<Client> resultado = repositorioCliente.findByNameSearchStartingWith("jo", pageRequest);
+
+        // Assert
+        assertEquals(2, resultado.getNumberOfElements());
+        assertEquals("Jorge Amado", resultado.getContent().get(0).getName());
+        assertEquals("Jose Saramago", resultado.getContent().get(1).getName());
+    }
+
+    /**
+     * Testa se {@code %} e {@code _} no termo são comparados literalmente, e não
+     * como curingas do LIKE.
+     */
+    @Test
+    @DisplayName("Verifica que curingas do LIKE no termo de busca são tratados como texto.")
+    void testaBuscaClientesPorNomeComCuringas() {
+        // Arrange
+        Client promocao = repositorioCliente.save(Client.builder().name("Loja 50%_Off").cpf("12312312312").build());
+        PageRequest pageRequest = PageRequest.of(0, 20, Sort.by("nameSearch"));
+
+        // Act
+        Slice<Client> porPrefixo = repositorioCliente.findByNameSearchStartingWith(ClientRepository.escapeLike("%"),
+                pageRequest);
+        List<Client> porTrecho = repositorioCliente.findClientsByNameContaining("50%_");
+        List<Client> porSublinhado = repositorioCliente.findClientsByNameContaining("o_");
+
+        // Assert
+        assertEquals(0, porPrefixo.getNumberOfElements());
+        assertEquals(List.of(promocao.getId()), porTrecho.stream().map(Client::getId).collect(Collectors.toList()));
+        assertEquals(0, porSublinhado.size());
+    }
+
+    /**
+     * Testa a versão projetada da busca por faixa de renda.
+     * Verifica se retorna os mesmos clientes que a consulta por entidade.
+     */
+    @Test
+    @DisplayName("Verifica a busca projetada de clientes com renda dentro de um intervalo.")
+    void testaBuscaProjetadaPorRendaEntre() {
+        // Act
+        List<ClientIncomeView> resultado = repositorioCliente.findIncomeViewsByIncomeBetween(4000.0, 6000.0);
+
+        // Assert
+        assertEquals(3, resultado.size());
+        assertTrue(resultado.stream().anyMatch(c -> c.getName().equals("Jose Saramago") && c.getIncome() == 5000.0));
+        assertNotNull(resultado.get(0).getId());
+    }
+
+    /**
+     * Testa a listagem paginada que devolve {@code ClientDTO} direto da consulta.
+     * Verifica a ordenação, o total e que nenhuma entidade foi carregada no
+     * contexto de persistência.
+     */
+    @Test
+    @DisplayName("Verifica a listagem paginada de clientes em DTO, sem carregar entidades.")
+    void testaListagemPaginadaEmDto() {
+        // Act
+        Page<ClientDTO> resultado = repositorioCliente.findAllDto(PageRequest.of(0, 5, Sort.by("name")));
+
+        // Assert
+        assertEquals(12, resultado.getTotalElements());
+        assertEquals(5, resultado.getNumberOfElements());
+        assertEquals("Carolina Maria de Jesus", resultado.getContent().get(0).getName());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    /**
+     * Testa as buscas por renda que devolvem {@code ClientDTO}.
+     * Verifica se retornam os mesmos clientes das consultas por entidade.
+     */
+    @Test
+    @DisplayName("Verifica as buscas paginadas por renda em DTO.")
+    void testaBuscaPorRendaEmDto() {
+        // Act
+        Page<ClientDTO> iguais = repositorioCliente.findDtoByIncome(1500.0, PageRequest.of(0, 12, Sort.by("name")));
+        Page<ClientDTO> maiores = repositorioCliente.findDtoByIncomeGreaterThan(5000.0,
+                PageRequest.of(0, 12, Sort.by("income")));
+
+        // Assert
+        assertEquals(3, iguais.getTotalElements());
+        assertEquals("Chimamanda Adichie", iguais.getContent().get(0).getName());
+        assertEquals(2, maiores.getTotalElements());
+        assertEquals(10000.0, maiores.getContent().get(1).getIncome());
+    }
+
+    /**
+     * Testa a atualização de colunas com um único UPDATE.
+     * Verifica a quantidade de linhas afetadas e se só a coluna informada mudou.
+     */
+    @Test
+    @DisplayName("Verifica a atualização parcial de um cliente por id.")
+    void testaAtualizacaoParcialPorId() {
+        // Act
+        int afetadas = repositorioCliente.updateFields(1L, null, Map.of("income", 1600.0));
+        int inexistente = repositorioCliente.updateFields(999L, null, Map.of("income", 1600.0));
+
+        // Assert
+        assertEquals(1, afetadas);
+        assertEquals(0, inexistente);
+        assertEquals(1600.0, repositorioCliente.findUpdateViewById(1L).get().getIncome());
+        assertEquals(2, repositorioCliente.findUpdateViewById(1L).get().getChildren());
+        assertTrue(repositorioCliente.findUpdateViewById(999L).isEmpty());
+    }
+
+    /**
+     * Testa a atualização condicionada à versão da linha.
+     * Verifica se cada UPDATE incrementa a versão e se uma versão antiga não
+     * afeta nenhuma linha.
+     */
+    @Test
+    @DisplayName("Verifica a atualização com controle otimista de versão.")
+    void testaAtualizacaoComVersao() {
+        // Act
+        int primeira = repositorioCliente.updateFields(1L, 0L, Map.of("income", 1600.0));
+        int desatualizada = repositorioCliente.updateFields(1L, 0L, Map.of("income", 1700.0));
+
+        // Assert
+        assertEquals(1, primeira);
+        assertEquals(0, desatualizada);
+        assertEquals(1L, repositorioCliente.findUpdateViewById(1L).get().getVersion());
+        assertEquals(1600.0, repositorioCliente.findUpdateViewById(1L).get().getIncome());
+    }
+
+    /**
+     * Testa a versão projetada da busca por data de nascimento.
+     * Verifica se retorna os mesmos clientes que a consulta por entidade.
+     */
+    @Test
+    @DisplayName("Verifica a busca projetada de clientes por data de nascimento.")
+    void testaBuscaProjetadaPorDataNascimentoEntre() {
+        // Act
+        List<ClientBirthDateView> resultado = repositorioCliente.findBirthDateViewsByBirthDateBetween(
+                Instant.parse("1996-12-23T07:00:00Z"), Instant.parse("2020-07-12T20:50:00Z"));
+
+        // Assert
+        assertEquals(3, resultado.size());
+        assertEquals(Instant.parse("1996-12-23T07:00:00Z"), resultado.get(0).getBirthDate());
+    }
+
+    /**
+     * Testa a contagem de clientes por número de filhos e valor de renda.
+     * Verifica se o par (0 filhos, renda 1500.0) aparece com dois clientes.
+     */
+    @Test
+    @DisplayName("Verifica a contagem de clientes agrupada por filhos e renda.")
+    void testaContagemPorFilhosERenda() {
+        // Act
+        List<IncomeCountView> resultado = repositorioCliente.countByChildrenAndIncome();
+
+        // Assert
+        assertEquals(11, resultado.size());
+        assertEquals(2L, resultado.stream().filter(c -> c.getChildren() == 0 && c.getIncome() == 1500.0)
+                .findFirst().orElse(null).getTotal());
+    }
+
+    /**
+     * Testa a quantidade de comandos SQL das consultas mais usadas pela API.
+     * A listagem paginada faz no máximo a consulta e a contagem, e a busca por
+     * vários ids é uma única consulta IN, sem carregar cliente a cliente.
+     */
+    @Test
+    @DisplayName("Verifica a quantidade de comandos SQL das consultas.")
+    void testaQuantidadeDeComandosDasConsultas() throws Throwable {
+        // Act
+        Page<ClientDTO> pagina = assertMaxStatements(contadorSql, 2,
+                () -> repositorioCliente.findAllDto(PageRequest.of(0, 5, Sort.by("name"))));
+        Page<ClientDTO> porRenda = assertMaxStatements(contadorSql, 2,
+                () -> repositorioCliente.findDtoByIncome(1500.0, PageRequest.of(0, 2)));
+        List<Client> porIds = assertMaxStatements(contadorSql, 1,
+                () -> repositorioCliente.findAllById(List.of(1L, 2L, 3L)));
+
+        // Assert
+        assertEquals(12, pagina.getTotalElements());
+        assertEquals(3, porRenda.getTotalElements());
+        assertEquals(3, porIds.size());
+    }
+
+    /**
+     * Testa a quantidade de comandos SQL das escritas.
+     * Verifica se a inserção em lote é um único lote JDBC e se a atualização
+     * parcial é um único UPDATE, sem ler a linha antes.
+     */
+    @Test
+    @DisplayName("Verifica a quantidade de comandos SQL das escritas.")
+    void testaQuantidadeDeComandosDasEscritas() throws Throwable {
+        // Arrange
+        List<Client> clientes = List.of(
+                new Client(null, "Ailton Krenak", "10619244000", 3200.0, Instant.parse("1953-09-29T07:00:00Z"), 1),
+                new Client(null, "Sueli Carneiro", "10619244001", 4100.0, Instant.parse("1950-06-24T07:00:00Z"), 1),
+                new Client(null, "Davi Kopenawa", "10619244002", 2900.0, Instant.parse("1956-01-01T07:00:00Z"), 3));
+
+        // Act
+        List<Long> ids = assertMaxStatements(contadorSql, 1, () -> repositorioCliente.batchInsert(clientes));
+        Integer afetadas = assertMaxStatements(contadorSql, 1,
+                () -> repositorioCliente.updateFields(ids.get(0), 0L, Map.of("income", 3300.0)));
+
+        // Assert
+        assertEquals(3, ids.size());
+        assertEquals(1, afetadas);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.iftm.client.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.support.RestoreDatabase;
+
+/**
+ * Testes de integração do POST /clients/batch com a aplicação inteira (sem
+ * mocks): a leitura NDJSON, a divisão em blocos e os commits. O banco com os 12
+ * clientes do {@code import.sql} é restaurado depois de cada teste pelo
+ * {@link RestoreDatabase}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@RestoreDatabase
+class ClientResourceBatchIntegracao {
+
+    private static final long SEEDED_CLIENTS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientRepository repository;
+
+    /**
+     * Testa se uma linha NDJSON com erro de sintaxe encerra a leitura com 200:
+     * o bloco já gravado e as linhas lidas antes dela são inseridos, e ela
+     * aparece no resultado como "Malformed JSON".
+     */
+    @Test
+    void insertBatchShouldReportMalformedLineAndKeepEarlierRows() throws Exception {
+        // Arrange
+        String line = objectMapper.writeValueAsString(new ClientDTO(null, "Maria Silva", "12345678900", 2500.0,
+                Instant.parse("1990-05-15T10:30:00Z"), 1));
+        String body = line + "\n" + line + "\n" + line + "\n{bad json\n" + line + "\n";
+
+        // Act
+        ResultActions result = mockMvc.perform(post("/clients/batch")
+                .param("chunkSize", "2")
+                .content(body)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.total").value(4));
+        result.andExpect(jsonPath("$.inserted").value(3));
+        result.andExpect(jsonPath("$.failed").value(1));
+        result.andExpect(jsonPath("$.rows[2].status").value("CREATED"));
+        result.andExpect(jsonPath("$.rows[3].status").value("FAILED"));
+        result.andExpect(jsonPath("$.rows[3].message").value("Malformed JSON"));
+        Assertions.assertEquals(SEEDED_CLIENTS + 3, repository.count());
+    }
+
+    /**
+     * Testa se um {@code chunkSize} acima de {@code client.batch.max-chunk-size}
+     * é rejeitado com 400 sem inserir nada.
+     */
+    @Test
+    void insertBatchShouldReturnBadRequestWhenChunkSizeIsTooLarge() throws Exception {
+        // Arrange
+        String line = objectMapper.writeValueAsString(new ClientDTO(null, "Maria Silva", "12345678900", 2500.0,
+                Instant.parse("1990-05-15T10:30:00Z"), 1));
+
+        // Act
+        ResultActions result = mockMvc.perform(post("/clients/batch")
+                .param("chunkSize", "2000000000")
+                .content(line + "\n")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isBadRequest());
+        result.andExpect(jsonPath("$.message").value("chunkSize must be between 1 and 10000"));
+        Assertions.assertEquals(SEEDED_CLIENTS, repository.count());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.iftm.client.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.iftm.client.support.LoadBaseline;
+import com.iftm.client.support.MockMvcLoadRun;
+
+/**
+ * Teste de carga da camada REST com MockMVC, sobre a aplicação inteira e o
+ * banco populado pelo {@code import.sql}. Os endpoints de leitura mais usados
+ * são chamados ao mesmo tempo durante um tempo fixo, e a vazão e o p90 de cada
+ * um são comparados com a linha de base em
+ * {@code src/test/resources/load-baseline.properties}; o build falha se
+ * piorarem além da tolerância. Os números só valem para a máquina onde a
+ * linha de base foi gravada, por isso o teste fica fora do {@code mvn test}
+ * comum e roda com o perfil {@code load} ({@code mvn test -Pload}).
+ * <p>
+ * Propriedades ({@code mvn test -D...}): {@code client.load.threads}
+ * (padrão 4), {@code client.load.seconds} (padrão 5),
+ * {@code client.load.tolerance} (padrão 0.5) e
+ * {@code client.load.update-baseline=true}, que grava os resultados como nova
+ * linha de base em vez de comparar.
+ */
+@SpringBootTest(properties = "client.sql.log.sample-rate=0")
+@AutoConfigureMockMvc
+@Isolated
+@Tag("load")
+public class ClientResourceLoadTest {
+
+    private static final Path BASELINE = Paths.get("src", "test", "resources", "load-baseline.properties");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Executa a carga e verifica que não houve erros nem regressão de vazão ou
+     * de latência em relação à linha de base.
+     */
+    @Test
+    void readEndpointsShouldNotRegressAgainstBaseline() throws Exception {
+        // Arrange
+        int threads = Integer.getInteger("client.load.threads", 4);
+        int seconds = Integer.getInteger("client.load.seconds", 5);
+        double tolerance = Double.parseDouble(System.getProperty("client.load.tolerance", "0.5"));
+        MockMvcLoadRun load = new MockMvcLoadRun(mockMvc)
+                .concurrency(threads)
+                .duration(Duration.ofSeconds(seconds))
+                .endpoint("findAll", () -> get("/clients")
+                        .param("linesPerPage", "6")
+                        .param("page", String.valueOf(ThreadLocalRandom.current().nextInt(2)))
+                        .accept(MediaType.APPLICATION_JSON))
+                .endpoint("findById", () -> get("/clients/{id}", ThreadLocalRandom.current().nextLong(1, 13))
+                        .accept(MediaType.APPLICATION_JSON))
+                .endpoint("findByIncome", () -> get("/clients/income")
+                        .param("income", "1500.0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .endpoint("findByIncomeGreaterThan", () -> get("/clients/incomeGreaterThan")
+                        .param("income", "2500.0")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        // Act
+        Map<String, MockMvcLoadRun.Result> results = load.run();
+
+        // Assert
+        results.forEach((endpoint, result) -> System.out.printf("%s: %s%n", endpoint, result));
+        results.forEach((endpoint, result) -> assertEquals(0, result.getErrors(), endpoint + " returned errors"));
+        LoadBaseline baseline = LoadBaseline.load(BASELINE);
+        if (Boolean.getBoolean("client.load.update-baseline")) {
+            baseline.update(results, String.format("ClientResourceLoadTest: %d threads, %d s", threads, seconds));
+        } else {
+            baseline.assertNoRegression(results, tolerance);
+        }
+    }
+
+}
@@ -1,33 +1,61 @@
 package com.iftm.client.resources;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.iftm.client.config.SerializationConfig;
+import com.iftm.client.dto.ClientBatchResultDTO;
+import com.iftm.client.dto.ClientBatchRowDTO;
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientLookupDTO;
+import com.iftm.client.dto.ClientSliceDTO;
+import com.iftm.client.dto.IncomeStatsDTO;
 import com.iftm.client.services.ClientService;
+import com.iftm.client.services.exceptions.InvalidRequestException;
+import com.iftm.client.services.exceptions.PreconditionFailedException;
 import com.iftm.client.services.exceptions.ResourceNotFoundException;
 
 /**
@@ -37,8 +65,11 @@ import com.iftm.client.services.exceptions.ResourceNotFoundException;
  * @author Laura Gabriely
  */
 @WebMvcTest(ClientResource.class)
+@Import(SerializationConfig.class)
 public class ClientResourcesTest {
 
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -63,13 +94,40 @@ public class ClientResourcesTest {
                 Instant.parse("1990-05-15T10:30:00Z"), 1);
 
         existingClientDTO = new ClientDTO(existingId, "Conceição Evaristo", "10619244881", 1500.0,
-                Instant.parse("2020-07-13T20:50:00Z"), 2);
+                Instant.parse("2020-07-13T20:50:00Z"), 2, 0L);
 
         page = new PageImpl<>(List.of(existingClientDTO));
 
         // Mock para findAllPaged
         when(service.findAllPaged(any(PageRequest.class))).thenReturn(page);
 
+        // Mock para findAllKeyset
+        when(service.findAllKeyset(eq(""), eq(12), eq(Direction.ASC), eq("name")))
+                .thenReturn(new ClientSliceDTO(List.of(existingClientDTO), 12, true, "bmV4dA"));
+        when(service.findAllKeyset(eq(""), eq(0), eq(Direction.ASC), eq("name")))
+                .thenThrow(new InvalidRequestException("linesPerPage must be between 1 and 1000"));
+
+        // Mock para exportAll
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(service).exportAll(any(OutputStream.class));
+
+        // Mock para searchByName
+        when(service.searchByName("conceicao", false, 50)).thenReturn(List.of(existingClientDTO));
+
+        // Mock para findByIds
+        when(service.findByIds(List.of(existingId, nonExistingId)))
+                .thenReturn(new ClientLookupDTO(List.of(existingClientDTO), List.of(nonExistingId)));
+
+        // Mock para incomeStats
+        IncomeStatsDTO stats = new IncomeStatsDTO(12L, 47300.0, 1500.0, 10000.0, 47300.0 / 12,
+                Map.of("p50", 2500.0));
+        stats.setByChildren(Map.of(0, new IncomeStatsDTO(6L, 28000.0, 1500.0, 10000.0, 28000.0 / 6,
+                Map.of("p50", 2500.0))));
+        when(service.incomeStats()).thenReturn(stats);
+
         // Mock para findById
         when(service.findById(existingId)).thenReturn(existingClientDTO);
         when(service.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
@@ -78,6 +136,12 @@ public class ClientResourcesTest {
         when(service.findByIncome(eq(1500.0), any(PageRequest.class))).thenReturn(page);
         when(service.findByIncome(eq(99999.0), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of()));
 
+        // Mock para findSliceByIncome (sem count)
+        ClientSliceDTO incomeSlice = new ClientSliceDTO(List.of(existingClientDTO), 12, false, null);
+        incomeSlice.setNumber(0);
+        incomeSlice.setApproximateTotal(3L);
+        when(service.findSliceByIncome(eq(1500.0), any(PageRequest.class), eq(true))).thenReturn(incomeSlice);
+
         // Mock para findByIncomeGreaterThan com valores específicos dos testes
         when(service.findByIncomeGreaterThan(eq(1000.0), any(PageRequest.class))).thenReturn(page);
         when(service.findByIncomeGreaterThan(eq(50000.0), any(PageRequest.class)))
@@ -88,11 +152,24 @@ public class ClientResourcesTest {
                 Instant.parse("1990-05-15T10:30:00Z"), 1);
         when(service.insert(any(ClientDTO.class))).thenReturn(insertedClient);
 
+        // Mock para insertBatch: devolve uma linha criada para cada item recebido
+        when(service.insertBatch(any(), any())).thenAnswer(invocation -> {
+            Iterator<ClientDTO> dtos = invocation.getArgument(0);
+            List<ClientBatchRowDTO> rows = new ArrayList<>();
+            while (dtos.hasNext()) {
+                dtos.next();
+                rows.add(new ClientBatchRowDTO(rows.size(), 20L + rows.size(), ClientBatchRowDTO.CREATED, null));
+            }
+            return new ClientBatchResultDTO(rows, 500, 1_000_000L);
+        });
+
         // Mock para update
         ClientDTO updatedClient = new ClientDTO(existingId, "Maria Silva Updated", "12345678900", 3500.0,
-                Instant.parse("1990-05-15T10:30:00Z"), 2);
-        when(service.update(eq(existingId), any(ClientDTO.class))).thenReturn(updatedClient);
-        when(service.update(eq(nonExistingId), any(ClientDTO.class))).thenThrow(ResourceNotFoundException.class);
+                Instant.parse("1990-05-15T10:30:00Z"), 2, 1L);
+        when(service.update(eq(existingId), any(ClientDTO.class), any())).thenReturn(updatedClient);
+        when(service.update(eq(existingId), any(ClientDTO.class), eq(5L)))
+                .thenThrow(new PreconditionFailedException("Version mismatch for id " + existingId));
+        when(service.update(eq(nonExistingId), any(ClientDTO.class), any())).thenThrow(ResourceNotFoundException.class);
 
         // Mock para delete
         doNothing().when(service).delete(existingId);
@@ -123,6 +200,151 @@ public class ClientResourcesTest {
         result.andExpect(jsonPath("$.content[0].name").value("Conceição Evaristo"));
     }
 
+    /**
+     * Testa o endpoint GET /clients com envelope=slim
+     * Verifica se a página vem sem os metadados de pageable e sort
+     */
+    @Test
+    public void findAllShouldReturnSlimEnvelopeWhenRequested() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/clients")
+                .param("envelope", "slim")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content[0].id").value(existingId));
+        result.andExpect(jsonPath("$.totalElements").value(1));
+        result.andExpect(jsonPath("$.totalPages").value(1));
+        result.andExpect(jsonPath("$.pageable").doesNotExist());
+        result.andExpect(jsonPath("$.sort").doesNotExist());
+    }
+
+    /**
+     * Testa o endpoint GET /clients pedindo o formato binário Smile
+     * Verifica o tipo da resposta e se o corpo decodificado traz os clientes
+     */
+    @Test
+    public void findAllShouldReturnSmileWhenAccepted() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/clients")
+                .param("envelope", "slim")
+                .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        // Assert
+        JsonNode body = new ObjectMapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(existingId, body.at("/content/0/id").asLong());
+        assertEquals("Conceição Evaristo", body.at("/content/0/name").asText());
+        assertEquals("2020-07-13T20:50:00Z", body.at("/content/0/birthDate").asText());
+    }
+
+    /**
+     * Testa o endpoint GET /clients com o parâmetro after (paginação por chave)
+     * Verifica se retorna a fatia sem totalElements e com o cursor da próxima
+     * página
+     */
+    @Test
+    public void findAllShouldReturnSliceWhenAfterIsPresent() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients")
+                .param("after", "")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content[0].id").value(existingId));
+        result.andExpect(jsonPath("$.hasNext").value(true));
+        result.andExpect(jsonPath("$.next").value("bmV4dA"));
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    /**
+     * Testa o endpoint GET /clients com after e linesPerPage=0
+     * Verifica se retorna status 400 Bad Request em vez de erro interno
+     */
+    @Test
+    public void findAllShouldReturnBadRequestWhenAfterIsPresentAndLinesPerPageIsZero() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients")
+                .param("after", "")
+                .param("linesPerPage", "0")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isBadRequest());
+        result.andExpect(jsonPath("$.message").value("linesPerPage must be between 1 and 1000"));
+    }
+
+    /**
+     * Testa o endpoint GET /clients?ids= usando mock
+     * Verifica se retorna os clientes encontrados e os ids inexistentes
+     */
+    @Test
+    public void findAllShouldLookupClientsWhenIdsArePresent() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients")
+                .param("ids", existingId + "," + nonExistingId)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.found[0].id").value(existingId));
+        result.andExpect(jsonPath("$.missing[0]").value(nonExistingId));
+    }
+
+    /**
+     * Testa o endpoint POST /clients/lookup usando mock
+     * Verifica se os ids do corpo são resolvidos de uma vez
+     */
+    @Test
+    public void lookupShouldReturnFoundAndMissingIds() throws Exception {
+        ResultActions result = mockMvc.perform(post("/clients/lookup")
+                .content(objectMapper.writeValueAsString(List.of(existingId, nonExistingId)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.found.length()").value(1));
+        result.andExpect(jsonPath("$.missing[0]").value(nonExistingId));
+    }
+
+    /**
+     * Testa o endpoint GET /clients/export usando mock
+     * Verifica se a resposta é escrita de forma assíncrona em NDJSON, uma linha
+     * por cliente
+     */
+    @Test
+    public void exportShouldStreamClientsAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/clients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+        result.andExpect(status().isOk());
+        result.andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        result.andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    /**
+     * Testa o endpoint GET /clients/search usando mock
+     * Verifica se retorna a lista de clientes encontrados pelo nome
+     */
+    @Test
+    public void searchByNameShouldReturnMatchingClients() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients/search")
+                .param("name", "conceicao")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$[0].name").value("Conceição Evaristo"));
+    }
+
+    /**
+     * Testa o endpoint GET /clients/stats usando mock
+     * Verifica se retorna as estatísticas gerais e por número de filhos
+     */
+    @Test
+    public void incomeStatsShouldReturnSummaryByChildren() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients/stats")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.count").value(12));
+        result.andExpect(jsonPath("$.percentiles.p50").value(2500.0));
+        result.andExpect(jsonPath("$.byChildren.0.count").value(6));
+    }
+
     /**
      * Testa o endpoint GET /clients/{id} com ID existente usando mock
      * Verifica se retorna status 200 OK e os dados mockados do cliente específico
@@ -142,6 +364,24 @@ public class ClientResourcesTest {
         result.andExpect(jsonPath("$.cpf").value("10619244881"));
         result.andExpect(jsonPath("$.income").value(1500.0));
         result.andExpect(jsonPath("$.children").value(2));
+        result.andExpect(header().string("ETag", "\"0\""));
+    }
+
+    /**
+     * Testa o endpoint GET /clients/{id} com If-None-Match igual à versão
+     * atual: deve retornar 304 sem corpo
+     */
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(get("/clients/{id}", existingId)
+                .header("If-None-Match", "\"0\"")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isNotModified());
+        result.andExpect(header().string("ETag", "\"0\""));
+        result.andExpect(content().string(""));
     }
 
     /**
@@ -180,6 +420,37 @@ public class ClientResourcesTest {
         result.andExpect(jsonPath("$.content[0].income").value(income));
     }
 
+    /**
+     * Testa o endpoint GET /clients/income com count=approximate usando mock
+     * Verifica se retorna a fatia com hasNext e total aproximado, sem
+     * totalElements
+     */
+    @Test
+    public void findByIncomeShouldReturnSliceWhenCountIsApproximate() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients/income")
+                .param("income", "1500.0")
+                .param("count", "approximate")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.hasNext").value(false));
+        result.andExpect(jsonPath("$.approximateTotal").value(3));
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    /**
+     * Testa o endpoint GET /clients/income com valor de count inválido
+     * Verifica se retorna status 400 Bad Request
+     */
+    @Test
+    public void findByIncomeShouldReturnBadRequestWhenCountIsInvalid() throws Exception {
+        ResultActions result = mockMvc.perform(get("/clients/income")
+                .param("income", "1500.0")
+                .param("count", "exact")
+                .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isBadRequest());
+        result.andExpect(jsonPath("$.error").value("Invalid request"));
+    }
+
     /**
      * Testa o endpoint GET /clients/income com renda inexistente usando mock
      * Verifica se retorna status 200 OK mas página vazia conforme mock configurado
@@ -259,6 +530,44 @@ public class ClientResourcesTest {
         result.andExpect(jsonPath("$.children").value(1));
     }
 
+    /**
+     * Testa o endpoint POST /clients/batch com um array JSON usando mock
+     * Verifica se retorna o resultado de cada linha e os totais
+     */
+    @Test
+    public void insertBatchShouldReturnRowResultsForJsonArray() throws Exception {
+        String json = objectMapper.writeValueAsString(List.of(clientDTO, clientDTO));
+
+        ResultActions result = mockMvc.perform(post("/clients/batch")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.total").value(2));
+        result.andExpect(jsonPath("$.inserted").value(2));
+        result.andExpect(jsonPath("$.rows[1].id").value(21L));
+        result.andExpect(jsonPath("$.rowsPerSecond").exists());
+    }
+
+    /**
+     * Testa o endpoint POST /clients/batch com corpo NDJSON usando mock
+     * Verifica se cada linha do corpo é lida como um cliente
+     */
+    @Test
+    public void insertBatchShouldReadNdjsonBody() throws Exception {
+        String line = objectMapper.writeValueAsString(clientDTO);
+
+        ResultActions result = mockMvc.perform(post("/clients/batch")
+                .content(line + "\n" + line + "\n" + line + "\n")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.total").value(3));
+        result.andExpect(jsonPath("$.rows[2].status").value("CREATED"));
+    }
+
     /**
      * Testa o endpoint DELETE /clients/{id} com ID existente usando mock
      * Verifica se retorna status 204 No Content quando o mock não lança exception
@@ -316,6 +625,40 @@ public class ClientResourcesTest {
         result.andExpect(jsonPath("$.name").value("Maria Silva Updated"));
         result.andExpect(jsonPath("$.income").value(3500.0));
         result.andExpect(jsonPath("$.children").value(2));
+        result.andExpect(header().string("ETag", "\"1\""));
+        verify(service).update(eq(existingId), any(ClientDTO.class), eq(null));
+    }
+
+    /**
+     * Testa o endpoint PUT /clients/{id} com If-Match
+     * Verifica se a versão da ETag é repassada ao serviço e se um conflito de
+     * versão retorna 412 Precondition Failed
+     */
+    @Test
+    public void updateShouldPassIfMatchVersionAndReturnPreconditionFailedOnConflict() throws Exception {
+        // Assign
+        String json = objectMapper.writeValueAsString(existingClientDTO);
+
+        // Act
+        ResultActions ok = mockMvc.perform(put("/clients/{id}", existingId)
+                .header("If-Match", "\"0\"")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON));
+        ResultActions conflict = mockMvc.perform(put("/clients/{id}", existingId)
+                .header("If-Match", "\"5\"")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON));
+        ResultActions weak = mockMvc.perform(put("/clients/{id}", existingId)
+                .header("If-Match", "W/\"0\"")
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // Assert
+        ok.andExpect(status().isOk());
+        verify(service).update(eq(existingId), any(ClientDTO.class), eq(0L));
+        conflict.andExpect(status().isPreconditionFailed());
+        conflict.andExpect(jsonPath("$.error").value("Precondition failed"));
+        weak.andExpect(status().isPreconditionFailed());
     }
 
     /**
@@ -341,4 +684,39 @@ public class ClientResourcesTest {
         result.andExpect(status().isNotFound());
         result.andExpect(jsonPath("$.error").value("Resource not found"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Testa o endpoint PATCH /clients/{id} usando mock
+     * Verifica se só os campos presentes no corpo são repassados ao serviço
+     */
+    @Test
+    public void patchShouldReturnNoContentAndPassOnlyGivenFields() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(patch("/clients/{id}", existingId)
+                .content("{\"income\": 4200.0}")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isNoContent());
+        verify(service).patch(eq(existingId), argThat(dto -> dto.getIncome() == 4200.0), eq(Set.of("income")),
+                eq(null));
+    }
+
+    /**
+     * Testa o endpoint PATCH /clients/{id} com ID inexistente usando mock
+     * Verifica se retorna 404
+     */
+    @Test
+    public void patchShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
+        // Assign
+        doThrow(ResourceNotFoundException.class).when(service).patch(eq(nonExistingId), any(), any(), any());
+
+        // Act
+        ResultActions result = mockMvc.perform(patch("/clients/{id}", nonExistingId)
+                .content("{\"name\": \"Maria\"}")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // Assert
+        result.andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,145 @@
+package com.iftm.client.resources;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.services.ReactiveClientService;
+import com.iftm.client.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Testes da camada Web da API reativa com MockMVC, simulando o
+ * ReactiveClientService. As respostas são Flux/Mono, então cada requisição é
+ * concluída com um asyncDispatch.
+ */
+@WebMvcTest(ReactiveClientResource.class)
+public class ReactiveClientResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveClientService service;
+
+    private Long existingId;
+    private Long nonExistingId;
+    private ClientDTO existingClientDTO;
+
+    @BeforeEach
+    void setUp() {
+        existingId = 1L;
+        nonExistingId = 1000L;
+        existingClientDTO = new ClientDTO(existingId, "Conceição Evaristo", "10619244881", 1500.0,
+                Instant.parse("2020-07-13T20:50:00Z"), 2);
+
+        when(service.findAllPaged(any(PageRequest.class))).thenReturn(Flux.just(existingClientDTO));
+        when(service.findByIncome(eq(1500.0), any(PageRequest.class))).thenReturn(Flux.just(existingClientDTO));
+        when(service.findById(existingId)).thenReturn(Mono.just(existingClientDTO));
+        when(service.findById(nonExistingId)).thenReturn(Mono.error(new ResourceNotFoundException("Entity not found")));
+        when(service.delete(existingId)).thenReturn(Mono.empty());
+    }
+
+    /**
+     * Testa o endpoint GET /reactive/clients usando mock
+     * Verifica se a página é devolvida como um array JSON
+     */
+    @Test
+    public void findAllShouldReturnClientsArray() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/reactive/clients").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(existingId))
+                .andExpect(jsonPath("$[0].name").value("Conceição Evaristo"));
+    }
+
+    /**
+     * Testa o endpoint GET /reactive/clients/income usando mock
+     * Verifica se os clientes com a renda informada são devolvidos
+     */
+    @Test
+    public void findByIncomeShouldReturnClientsWhenIncomeExists() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/reactive/clients/income")
+                .param("income", "1500.0")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].income").value(1500.0));
+    }
+
+    /**
+     * Testa o endpoint GET /reactive/clients/{id} com ID existente usando mock
+     */
+    @Test
+    public void findByIdShouldReturnClientWhenIdExists() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/reactive/clients/{id}", existingId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(existingId));
+    }
+
+    /**
+     * Testa o endpoint GET /reactive/clients/{id} com ID inexistente usando mock
+     * Verifica se o erro do Mono é tratado pelo ResourceExceptionHandler (404)
+     */
+    @Test
+    public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/reactive/clients/{id}", nonExistingId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Resource not found"));
+    }
+
+    /**
+     * Testa o endpoint DELETE /reactive/clients/{id} com ID existente usando mock
+     */
+    @Test
+    public void deleteShouldReturnNoContentWhenIdExists() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(delete("/reactive/clients/{id}", existingId)).andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isNoContent());
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.iftm.client.services;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.iftm.client.entities.NameNormalizer;
+
+class ClientNameIndexTest {
+
+    private ClientNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClientNameIndex(true);
+        index.put(1L, NameNormalizer.normalize("Conceição Evaristo"));
+        index.put(2L, NameNormalizer.normalize("Lázaro Ramos"));
+        index.put(8L, NameNormalizer.normalize("Toni Morrison"));
+        index.markReady();
+    }
+
+    /**
+     * Testa a busca por substring no meio do nome, sem acentos.
+     */
+    @Test
+    void searchShouldFindSubstringIgnoringAccents() {
+        assertEquals(List.of(1L), index.search("ceicao", 10));
+        assertEquals(List.of(2L), index.search("zaro", 10));
+    }
+
+    /**
+     * Testa se a atualização troca os trigramas do nome antigo pelos do novo.
+     */
+    @Test
+    void putShouldReplacePreviousName() {
+        index.put(2L, NameNormalizer.normalize("Lima Barreto"));
+
+        assertEquals(List.of(), index.search("zaro", 10));
+        assertEquals(List.of(2L), index.search("barreto", 10));
+    }
+
+    /**
+     * Testa se a remoção tira o id de todas as listas de trigramas.
+     */
+    @Test
+    void removeShouldDropId() {
+        index.remove(8L);
+
+        assertEquals(List.of(), index.search("morrison", 10));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Testa se termos com menos de três caracteres ficam para o banco.
+     */
+    @Test
+    void canSearchShouldRejectShortTerms() {
+        assertFalse(index.canSearch("on"));
+        assertTrue(index.canSearch("son"));
+    }
+
+}
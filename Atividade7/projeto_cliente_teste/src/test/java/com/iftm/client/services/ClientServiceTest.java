@@ -1,24 +1,39 @@
 package com.iftm.client.services;
 
+import com.iftm.client.dto.ClientBatchResultDTO;
+import com.iftm.client.dto.ClientBatchRowDTO;
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientLookupDTO;
+import com.iftm.client.dto.ClientSliceDTO;
 import com.iftm.client.entities.Client;
 import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.repositories.projections.ClientUpdateView;
+import com.iftm.client.services.exceptions.InvalidRequestException;
+import com.iftm.client.services.exceptions.PreconditionFailedException;
 import com.iftm.client.services.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import javax.persistence.EntityNotFoundException;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -33,6 +48,15 @@ class ClientServiceTest {
     @Mock
     private ClientRepository repository;
 
+    @Mock
+    private ClientNameIndex nameIndex;
+
+    @Mock
+    private IncomeHistogram incomeHistogram;
+
+    @Mock
+    private CacheManager cacheManager;
+
     // • findAllPaged deveria retornar uma página com todos os clientes
     // (e chamar o método findAll do repository)
 
@@ -45,11 +69,11 @@ class ClientServiceTest {
     void findAllPagedShouldReturnPageOfClientDTOsWhenPageRequestIsValid() {
         // Arrange
         PageRequest pageRequest = PageRequest.of(0, 10);
-        List<Client> clients = List.of(createClient());
+        List<ClientDTO> clients = List.of(createClientDTO());
 
-        Page<Client> page = new PageImpl<>(clients);
+        Page<ClientDTO> page = new PageImpl<>(clients);
 
-        when(repository.findAll(pageRequest)).thenReturn(page);
+        when(repository.findAllDto(pageRequest)).thenReturn(page);
 
         // Act
         Page<ClientDTO> result = service.findAllPaged(pageRequest);
@@ -58,7 +82,7 @@ class ClientServiceTest {
         Assertions.assertFalse(result.isEmpty());
         Assertions.assertEquals(1, result.getTotalElements());
         Assertions.assertEquals("John Doe", result.getContent().get(0).getName());
-        verify(repository, times(1)).findAll(pageRequest);
+        verify(repository, times(1)).findAllDto(pageRequest);
     }
 
     /**
@@ -70,16 +94,75 @@ class ClientServiceTest {
     void findAllPagedShouldReturnEmptyPageWhenNoClientsExist() {
         // Arrange
         PageRequest pageRequest = PageRequest.of(0, 10);
-        Page<Client> emptyPage = Page.empty();
+        Page<ClientDTO> emptyPage = Page.empty();
 
-        when(repository.findAll(pageRequest)).thenReturn(emptyPage);
+        when(repository.findAllDto(pageRequest)).thenReturn(emptyPage);
 
         // Act
         Page<ClientDTO> result = service.findAllPaged(pageRequest);
 
         // Assert
         Assertions.assertTrue(result.isEmpty());
-        verify(repository, times(1)).findAll(pageRequest);
+        verify(repository, times(1)).findAllDto(pageRequest);
+    }
+
+    /**
+     * Testa se o método {@code findAllKeyset} devolve um cursor que, na chamada
+     * seguinte, é convertido na consulta por chave (nome, id).
+     */
+    @Test
+    void findAllKeysetShouldSeekFromCursorReturnedByPreviousSlice() {
+        // Arrange
+        Client client = createClient();
+        when(repository.findSliceByNullNameAfter(eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(client), PageRequest.of(0, 1), true));
+        when(repository.findSliceByNameAfter(eq("John Doe"), eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+
+        // Act
+        ClientSliceDTO first = service.findAllKeyset("", 1, Direction.ASC, "name");
+        ClientSliceDTO second = service.findAllKeyset(first.getNext(), 1, Direction.ASC, "name");
+
+        // Assert
+        Assertions.assertTrue(first.getHasNext());
+        Assertions.assertNotNull(first.getNext());
+        Assertions.assertFalse(second.getHasNext());
+        Assertions.assertNull(second.getNext());
+        verify(repository, times(1)).findSliceByNameAfter(eq("John Doe"), eq(1L), any(Pageable.class));
+    }
+
+    /**
+     * Testa se o método {@code findAllKeyset} rejeita tamanhos de fatia fora de
+     * 1..1000 antes de consultar o repositório.
+     */
+    @Test
+    void findAllKeysetShouldThrowInvalidRequestWhenSizeIsOutOfRange() {
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.findAllKeyset("", 0, Direction.ASC, "name"));
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.findAllKeyset("", -1, Direction.ASC, "name"));
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.findAllKeyset("", 1001, Direction.ASC, "name"));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa se o método {@code searchByName} usa o índice de trigramas quando ele
+     * pode responder ao termo já normalizado (sem acentos e em minúsculas).
+     */
+    @Test
+    void searchByNameShouldUseNgramIndexWhenAvailable() {
+        // Arrange
+        when(nameIndex.canSearch("joao")).thenReturn(true);
+        when(nameIndex.search("joao", 10)).thenReturn(List.of(1L));
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(createClient()));
+
+        // Act
+        List<ClientDTO> result = service.searchByName("JOÃO", false, 10);
+
+        // Assert
+        Assertions.assertEquals(1, result.size());
+        verify(repository, never()).findByNameSearchContaining(any(), any());
     }
 
     // • findById deveria
@@ -151,30 +234,107 @@ class ClientServiceTest {
         Assertions.assertEquals(dto.getChildren(), clientDTO.getChildren());
     }
 
+    /**
+     * Testa se o método {@code insertBatch} divide a entrada em blocos e, quando
+     * um bloco falha, reenvia suas linhas uma a uma para apontar a rejeitada.
+     */
+    @Test
+    void insertBatchShouldRetryFailedChunkRowByRow() {
+        // Arrange
+        ReflectionTestUtils.setField(service, "maxChunkSize", 10000);
+        ClientDTO dto = createClientDTO();
+        when(repository.batchInsert(any())).thenAnswer(invocation -> {
+            List<Client> chunk = invocation.getArgument(0);
+            if (chunk.size() == 2) {
+                return List.of(10L, 11L);
+            }
+            throw new DataIntegrityViolationException("falha");
+        });
+
+        // Act
+        ClientBatchResultDTO result = service.insertBatch(List.of(dto, dto, dto).iterator(), 2);
+
+        // Assert
+        Assertions.assertEquals(3, result.getTotal());
+        Assertions.assertEquals(2, result.getInserted());
+        Assertions.assertEquals(1, result.getFailed());
+        Assertions.assertEquals(ClientBatchRowDTO.FAILED, result.getRows().get(2).getStatus());
+        verify(repository, times(3)).batchInsert(any());
+    }
+
+    /**
+     * Testa se o método {@code insertBatch} rejeita um {@code chunkSize} fora de
+     * 1..{@code client.batch.max-chunk-size} antes de ler a entrada.
+     */
+    @Test
+    void insertBatchShouldThrowInvalidRequestWhenChunkSizeIsOutOfRange() {
+        // Arrange
+        ReflectionTestUtils.setField(service, "maxChunkSize", 10000);
+        List<ClientDTO> dtos = List.of(createClientDTO());
+
+        // Act e Assert
+        Assertions.assertThrows(InvalidRequestException.class, () -> service.insertBatch(dtos.iterator(), 0));
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.insertBatch(dtos.iterator(), 2_000_000_000));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa se o método {@code findByIds} consulta os ids em blocos, ignora
+     * repetidos e informa os ids que não existem em vez de lançar exceção.
+     */
+    @Test
+    void findByIdsShouldQueryInChunksAndReportMissingIds() {
+        // Arrange
+        ReflectionTestUtils.setField(service, "lookupChunkSize", 2);
+        Client other = createClient();
+        other.setId(3L);
+        when(repository.findAllById(List.of(3L, 1L))).thenReturn(List.of(createClient(), other));
+        when(repository.findAllById(List.of(2L))).thenReturn(List.of());
+
+        // Act
+        ClientLookupDTO result = service.findByIds(List.of(3L, 1L, 2L, 1L));
+
+        // Assert
+        Assertions.assertEquals(List.of(3L, 1L),
+                result.getFound().stream().map(ClientDTO::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(2L), result.getMissing());
+        verify(repository, times(2)).findAllById(any());
+    }
+
     // • update deveria
     // ◦ retornar um ClientDTO quando o id existir
     // ◦ lançar uma ResourceNotFoundException quando o id não existir
 
     /**
      * Testa se o método {@code update} retorna um {@code ClientDTO}
-     * quando o ID fornecido existe no repositório.
+     * quando o ID fornecido existe no repositório, com um único UPDATE e sem
+     * carregar a entidade.
      */
     @Test
     void updateShouldReturnClientDTOWhenIdExists() {
         // Arrange
         Long id = 1L;
         ClientDTO dto = createClientDTO();
-        Client client = createClient();
+        ClientUpdateView previous = mock(ClientUpdateView.class);
+        when(previous.getVersion()).thenReturn(3L);
+        when(previous.getIncome()).thenReturn(2000.0);
+        when(previous.getChildren()).thenReturn(1);
 
-        when(repository.getOne(id)).thenReturn(client);
-        when(repository.save(client)).thenReturn(client);
+        when(repository.findUpdateViewById(id)).thenReturn(Optional.of(previous));
+        when(repository.updateFields(eq(id), eq(3L), any())).thenReturn(1);
 
         // Act
-        ClientDTO clientDTO = service.update(id, dto);
+        ClientDTO clientDTO = service.update(id, dto, null);
 
         // Assert
         Assertions.assertEquals(dto.getId(), clientDTO.getId());
         Assertions.assertEquals(dto.getCpf(), clientDTO.getCpf());
+        Assertions.assertEquals(4L, clientDTO.getVersion());
+        verify(repository, never()).getOne(any());
+        verify(repository, never()).save(any());
+        verify(incomeHistogram).remove(2000.0, 1);
+        verify(incomeHistogram).add(dto.getIncome(), dto.getChildren());
 
     }
 
@@ -188,15 +348,114 @@ class ClientServiceTest {
         // Arrange
         Long id = 1L;
         ClientDTO dto = createClientDTO();
-        when(repository.getOne(id)).thenThrow(new EntityNotFoundException("Id não encontrado"));
+        when(repository.findUpdateViewById(id)).thenReturn(Optional.empty());
 
         // Act e Assert
         Assertions.assertThrows(ResourceNotFoundException.class, () -> {
-            service.update(id, dto);
+            service.update(id, dto, null);
         });
 
-        verify(repository, times(1)).getOne(id);
+        verify(repository, never()).updateFields(any(), any(), any());
+
+    }
+
+    /**
+     * Testa se o método {@code update} lança
+     * {@code PreconditionFailedException} sem executar o UPDATE quando a
+     * versão esperada não é a atual.
+     */
+    @Test
+    void updateShouldThrowPreconditionFailedExceptionWhenVersionDoesNotMatch() {
+        // Arrange
+        Long id = 1L;
+        ClientDTO dto = createClientDTO();
+        ClientUpdateView previous = mock(ClientUpdateView.class);
+        when(previous.getVersion()).thenReturn(3L);
+        when(repository.findUpdateViewById(id)).thenReturn(Optional.of(previous));
+
+        // Act e Assert
+        Assertions.assertThrows(PreconditionFailedException.class, () -> service.update(id, dto, 2L));
+
+        verify(repository, never()).updateFields(any(), any(), any());
+        verifyNoInteractions(incomeHistogram);
+    }
 
+    /**
+     * Testa se o método {@code update} lança
+     * {@code PreconditionFailedException} quando outra escrita muda a versão
+     * entre a leitura e o UPDATE (nenhuma linha afetada, mas o id existe).
+     */
+    @Test
+    void updateShouldThrowPreconditionFailedExceptionWhenConcurrentlyModified() {
+        // Arrange
+        Long id = 1L;
+        ClientDTO dto = createClientDTO();
+        ClientUpdateView previous = mock(ClientUpdateView.class);
+        when(previous.getVersion()).thenReturn(3L);
+        when(repository.findUpdateViewById(id)).thenReturn(Optional.of(previous));
+        when(repository.updateFields(eq(id), eq(3L), any())).thenReturn(0);
+        when(repository.existsById(id)).thenReturn(true);
+
+        // Act e Assert
+        Assertions.assertThrows(PreconditionFailedException.class, () -> service.update(id, dto, 3L));
+
+        verifyNoInteractions(incomeHistogram);
+    }
+
+    /**
+     * Testa se o método {@code update} sem versão esperada não lança
+     * {@code PreconditionFailedException} quando outra escrita muda a linha
+     * entre a leitura e o UPDATE: lê de novo e ajusta o histograma a partir
+     * dos valores relidos.
+     */
+    @Test
+    void updateWithoutExpectedVersionShouldRetryWhenConcurrentlyModified() {
+        // Arrange
+        Long id = 1L;
+        ClientDTO dto = createClientDTO();
+        ClientUpdateView stale = mock(ClientUpdateView.class);
+        when(stale.getVersion()).thenReturn(3L);
+        ClientUpdateView current = mock(ClientUpdateView.class);
+        when(current.getVersion()).thenReturn(4L);
+        when(current.getIncome()).thenReturn(2500.0);
+        when(current.getChildren()).thenReturn(2);
+        when(repository.findUpdateViewById(id)).thenReturn(Optional.of(stale), Optional.of(current));
+        when(repository.updateFields(eq(id), eq(3L), any())).thenReturn(0);
+        when(repository.updateFields(eq(id), eq(4L), any())).thenReturn(1);
+
+        // Act
+        ClientDTO clientDTO = service.update(id, dto, null);
+
+        // Assert
+        Assertions.assertEquals(5L, clientDTO.getVersion());
+        verify(incomeHistogram).remove(2500.0, 2);
+        verify(incomeHistogram).add(dto.getIncome(), dto.getChildren());
+    }
+
+    /**
+     * Testa se o método {@code patch} grava só as colunas informadas, sem ler a
+     * linha quando renda e filhos não mudam, e usa a quantidade de linhas
+     * afetadas para detectar o id inexistente.
+     */
+    @Test
+    void patchShouldWriteOnlyGivenColumns() {
+        // Arrange
+        ClientDTO changes = ClientDTO.builder().name("Jane Doe").build();
+        when(repository.updateFields(eq(1L), any(), any())).thenReturn(1);
+        when(repository.updateFields(eq(2L), any(), any())).thenReturn(0);
+
+        // Act
+        service.patch(1L, changes, Set.of("name"), null);
+
+        // Assert
+        verify(repository).updateFields(1L, null, Map.of("name", "Jane Doe", "nameSearch", "jane doe"));
+        verify(repository, never()).findUpdateViewById(any());
+        verify(nameIndex).put(1L, "jane doe");
+        verifyNoInteractions(incomeHistogram);
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> service.patch(2L, changes, Set.of("name"), null));
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> service.patch(1L, changes, Set.of("id"), null));
     }
 
     // • delete deveria
@@ -237,7 +496,7 @@ class ClientServiceTest {
 
     // • findByIncome deveria retornar uma página com os clientes que tenham o
     // Income
-    // informado (e chamar o mét-odo findByIncome do repository)
+    // informado (e chamar o mét-odo findDtoByIncome do repository)
 
     /**
      * Testa se o método {@code findByIncome} retorna uma página de
@@ -249,10 +508,10 @@ class ClientServiceTest {
         // Arrange
         Double income = 3000.0; // agora o income confere com o client criado
         PageRequest pageRequest = PageRequest.of(0, 10);
-        List<Client> clients = List.of(createClient());
-        Page<Client> page = new PageImpl<>(clients, pageRequest, clients.size());
+        List<ClientDTO> clients = List.of(createClientDTO());
+        Page<ClientDTO> page = new PageImpl<>(clients, pageRequest, clients.size());
 
-        when(repository.findByIncome(eq(income), eq(pageRequest))).thenReturn(page);
+        when(repository.findDtoByIncome(eq(income), eq(pageRequest))).thenReturn(page);
 
         // Act
         Page<ClientDTO> result = service.findByIncome(income, pageRequest);
@@ -261,7 +520,29 @@ class ClientServiceTest {
         Assertions.assertFalse(result.isEmpty());
         Assertions.assertEquals(1, result.getTotalElements());
         Assertions.assertEquals("John Doe", result.getContent().get(0).getName());
-        verify(repository, times(1)).findByIncome(eq(income), eq(pageRequest));
+        verify(repository, times(1)).findDtoByIncome(eq(income), eq(pageRequest));
+    }
+
+    /**
+     * Testa se o método {@code findSliceByIncome} usa a fatia sem contagem e
+     * preenche o total aproximado a partir do histograma.
+     */
+    @Test
+    void findSliceByIncomeShouldReturnApproximateTotalFromHistogram() {
+        // Arrange
+        Double income = 3000.0;
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        when(repository.findSliceByIncome(income, pageRequest))
+                .thenReturn(new SliceImpl<>(List.of(createClient()), pageRequest, false));
+        when(incomeHistogram.countEqual(income)).thenReturn(1L);
+
+        // Act
+        ClientSliceDTO result = service.findSliceByIncome(income, pageRequest, true);
+
+        // Assert
+        Assertions.assertEquals(1L, result.getApproximateTotal());
+        Assertions.assertFalse(result.getHasNext());
+        verify(repository, never()).findDtoByIncome(any(), any());
     }
 
     private Client createClient() {
@@ -1,7 +1,9 @@
 package com.iftm.client.services; // Corrected package declaration
 
 import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.dto.ClientSliceDTO;
 import com.iftm.client.entities.Client;
+import com.iftm.client.metrics.SqlStatementCounter;
 import com.iftm.client.repositories.ClientRepository;
 import com.iftm.client.services.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
@@ -11,9 +13,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.iftm.client.support.StatementCountAssertions.assertMaxStatements;
 
 @SpringBootTest
 @Transactional
@@ -22,6 +30,9 @@ class ClientServiceIntegracao {
     @Autowired
     private ClientService service;
 
+    @Autowired
+    private SqlStatementCounter sqlCounter;
+
     @Autowired
     private ClientRepository repository;
 
@@ -46,6 +57,9 @@ class ClientServiceIntegracao {
                 .build();
 
         client = repository.save(client);
+        // executa já as remoções pendentes, para não entrarem na contagem de
+        // comandos SQL dos testes
+        repository.flush();
         existingId = client.getId();
         nonExistingId = 999L;
     }
@@ -120,10 +134,108 @@ class ClientServiceIntegracao {
                 .children(3)
                 .build();
 
-        ClientDTO updated = service.update(existingId, dto);
+        ClientDTO updated = service.update(existingId, dto, null);
 
         Assertions.assertEquals("Updated Name", updated.getName());
         Assertions.assertEquals(3, updated.getChildren());
     }
 
-}
\ No newline at end of file
+    /**
+     * Testa se o {@code findById} reflete a atualização, inclusive a nova
+     * versão, mesmo com o cache de clientes ativo.
+     */
+    @Test
+    void findByIdShouldReturnUpdatedDataAfterUpdate() {
+        service.findById(existingId);
+
+        ClientDTO dto = ClientDTO.builder()
+                .name("Cached Name")
+                .cpf("11122233344")
+                .income(4000.0)
+                .birthDate(Instant.parse("1992-03-15T00:00:00Z"))
+                .children(3)
+                .build();
+        ClientDTO updated = service.update(existingId, dto, null);
+
+        Assertions.assertEquals("Cached Name", service.findById(existingId).getName());
+        Assertions.assertEquals(updated.getVersion(), service.findById(existingId).getVersion());
+    }
+
+    /**
+     * Testa se {@code %} e {@code _} no termo da busca por nome não funcionam
+     * como curingas, nem na busca por prefixo nem na por trecho.
+     */
+    @Test
+    void searchByNameShouldTreatLikeWildcardsLiterally() {
+        Assertions.assertTrue(service.searchByName("%", true, 10).isEmpty());
+        Assertions.assertTrue(service.searchByName("_", false, 10).isEmpty());
+        Assertions.assertEquals(1, service.searchByName("john", true, 10).size());
+    }
+
+    /**
+     * Testa se a paginação por chave passa pelos clientes sem renda: eles vêm
+     * primeiro nas duas direções, em ordem de id, e o cursor da página que
+     * termina em um deles continua na página seguinte.
+     */
+    @Test
+    void findAllKeysetShouldPagePastClientsWithNullIncome() {
+        Client semRenda1 = repository.save(Client.builder().name("Sem Renda 1").cpf("11111111111").build());
+        Client semRenda2 = repository.save(Client.builder().name("Sem Renda 2").cpf("22222222222").build());
+        Client comRenda = repository.save(Client.builder().name("Com Renda").cpf("33333333333").income(1000.0).build());
+
+        Assertions.assertEquals(List.of(semRenda1.getId(), semRenda2.getId(), comRenda.getId(), existingId),
+                allKeysetIds(Direction.ASC, "income"));
+        Assertions.assertEquals(List.of(semRenda2.getId(), semRenda1.getId(), existingId, comRenda.getId()),
+                allKeysetIds(Direction.DESC, "income"));
+    }
+
+    private List<Long> allKeysetIds(Direction direction, String orderBy) {
+        List<Long> ids = new ArrayList<>();
+        String after = "";
+        do {
+            ClientSliceDTO slice = service.findAllKeyset(after, 1, direction, orderBy);
+            slice.getContent().forEach(x -> ids.add(x.getId()));
+            after = slice.getNext();
+        } while (after != null);
+        return ids;
+    }
+
+    /**
+     * Testa a quantidade de comandos SQL das leituras: a página faz no máximo
+     * a consulta e a contagem, a busca por vários ids é uma única consulta e o
+     * {@code findById} repetido é atendido pelo cache.
+     */
+    @Test
+    void readsShouldIssueBoundedNumberOfStatements() throws Throwable {
+        assertMaxStatements(sqlCounter, 2, () -> service.findAllPaged(PageRequest.of(0, 10)));
+        assertMaxStatements(sqlCounter, 1, () -> service.findByIds(List.of(existingId, nonExistingId)));
+        assertMaxStatements(sqlCounter, 1, () -> service.findById(existingId));
+        assertMaxStatements(sqlCounter, 0, () -> service.findById(existingId));
+    }
+
+    /**
+     * Testa a quantidade de comandos SQL das escritas: com o cliente no cache,
+     * o {@code update} é um único UPDATE; fora dele, lê antes a versão, a renda
+     * e os filhos. O {@code patch} de um campo que não afeta as estatísticas é
+     * só o UPDATE.
+     */
+    @Test
+    void writesShouldIssueBoundedNumberOfStatements() throws Throwable {
+        ClientDTO dto = ClientDTO.builder()
+                .name("Updated Name")
+                .cpf("11122233344")
+                .income(4000.0)
+                .birthDate(Instant.parse("1992-03-15T00:00:00Z"))
+                .children(3)
+                .build();
+
+        service.findById(existingId);
+        assertMaxStatements(sqlCounter, 1, () -> service.update(existingId, dto, null));
+        assertMaxStatements(sqlCounter, 1, () -> service.update(existingId, dto, null));
+        service.patch(existingId, dto, Set.of("cpf"), null);
+        assertMaxStatements(sqlCounter, 2, () -> service.update(existingId, dto, null));
+        assertMaxStatements(sqlCounter, 1, () -> service.patch(existingId, dto, Set.of("name"), null));
+        assertMaxStatements(sqlCounter, 1, () -> service.insert(dto));
+    }
+
+}
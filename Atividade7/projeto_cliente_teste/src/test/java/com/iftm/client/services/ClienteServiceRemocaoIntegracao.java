@@ -0,0 +1,87 @@
+package com.iftm.client.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.iftm.client.repositories.ClientRepository;
+import com.iftm.client.services.exceptions.ResourceNotFoundException;
+import com.iftm.client.support.RestoreDatabase;
+
+/**
+ * Testes de integração das remoções, que fazem commit de verdade (JPA e R2DBC).
+ * O banco com os 12 clientes do {@code import.sql} é restaurado depois de cada
+ * teste pelo {@link RestoreDatabase}, sem recriar o contexto.
+ */
+@SpringBootTest
+@RestoreDatabase
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ClienteServiceRemocaoIntegracao {
+
+    private static final long SEEDED_CLIENTS = 12;
+
+    @Autowired
+    private ClientService service;
+
+    @Autowired
+    private ReactiveClientService reactiveService;
+
+    @Autowired
+    private ClientRepository repository;
+
+    /**
+     * Testa se o {@code delete} remove o cliente da tabela, do cache e do
+     * histograma de rendas após o commit.
+     */
+    @Test
+    @Order(1)
+    void deleteShouldRemoveClientAfterCommit() {
+        // Arrange
+        Long id = 1L;
+        service.findById(id);
+
+        // Act
+        service.delete(id);
+
+        // Assert
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(id));
+        Assertions.assertEquals(SEEDED_CLIENTS - 1, repository.count());
+        Assertions.assertEquals(SEEDED_CLIENTS - 1, service.incomeStats().getCount());
+    }
+
+    /**
+     * Testa se o {@code delete} da API reativa remove o cliente após o commit.
+     */
+    @Test
+    @Order(2)
+    void reactiveDeleteShouldRemoveClientAfterCommit() {
+        // Arrange
+        Long id = 2L;
+
+        // Act
+        reactiveService.delete(id).block();
+
+        // Assert
+        Assertions.assertFalse(repository.existsById(id));
+        Assertions.assertEquals(SEEDED_CLIENTS - 1, repository.count());
+    }
+
+    /**
+     * Testa se, depois das remoções dos testes anteriores, o banco e o
+     * histograma voltaram ao estado do {@code import.sql}.
+     */
+    @Test
+    @Order(3)
+    void databaseShouldBeRestoredAfterEachTest() {
+        // Assert
+        Assertions.assertEquals(SEEDED_CLIENTS, repository.count());
+        Assertions.assertEquals(SEEDED_CLIENTS, service.incomeStats().getCount());
+        Assertions.assertDoesNotThrow(() -> service.findById(1L));
+        Assertions.assertDoesNotThrow(() -> service.findById(2L));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.iftm.client.services;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.iftm.client.dto.IncomeStatsDTO;
+import com.iftm.client.repositories.projections.IncomeCountView;
+
+class IncomeHistogramTest {
+
+    private IncomeHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new IncomeHistogram();
+        histogram.replace(List.of(row(0, 1500.0, 2L), row(2, 1500.0, 1L), row(2, 2500.0, 3L), row(0, 10000.0, 1L)));
+    }
+
+    /**
+     * Testa as contagens por renda exata e por renda maior que um valor.
+     */
+    @Test
+    void countsShouldReflectLoadedTotals() {
+        assertEquals(3L, histogram.countEqual(1500.0));
+        assertEquals(4L, histogram.countGreaterThan(1500.0));
+        assertEquals(0L, histogram.countEqual(99999.0));
+    }
+
+    /**
+     * Testa se inserções e remoções atualizam as contagens.
+     */
+    @Test
+    void addAndRemoveShouldUpdateCounts() {
+        histogram.add(10000.0, 0);
+        histogram.remove(1500.0, 2);
+        histogram.remove(null, 1);
+
+        assertEquals(2L, histogram.countEqual(10000.0));
+        assertEquals(2L, histogram.countEqual(1500.0));
+        assertEquals(5L, histogram.countGreaterThan(1500.0));
+    }
+
+    /**
+     * Testa as estatísticas gerais e por número de filhos calculadas a partir
+     * das contagens carregadas.
+     */
+    @Test
+    void statsShouldSummarizeIncomeByChildren() {
+        IncomeStatsDTO stats = histogram.stats();
+
+        assertEquals(7L, stats.getCount());
+        assertEquals(22000.0, stats.getSum());
+        assertEquals(1500.0, stats.getMin());
+        assertEquals(10000.0, stats.getMax());
+        assertEquals(22000.0 / 7, stats.getMean());
+        assertEquals(2500.0, stats.getPercentiles().get("p50"));
+        assertEquals(10000.0, stats.getPercentiles().get("p99"));
+
+        IncomeStatsDTO semFilhos = stats.getByChildren().get(0);
+        assertEquals(3L, semFilhos.getCount());
+        assertEquals(13000.0, semFilhos.getSum());
+        assertEquals(1500.0, semFilhos.getPercentiles().get("p50"));
+        assertNull(semFilhos.getByChildren());
+    }
+
+    /**
+     * Testa se um grupo de filhos some das estatísticas quando o último
+     * cliente dele é removido.
+     */
+    @Test
+    void statsShouldDropEmptyChildrenGroup() {
+        histogram.remove(1500.0, 2);
+        histogram.remove(2500.0, 2);
+        histogram.remove(2500.0, 2);
+        histogram.remove(2500.0, 2);
+
+        IncomeStatsDTO stats = histogram.stats();
+
+        assertEquals(3L, stats.getCount());
+        assertFalse(stats.getByChildren().containsKey(2));
+    }
+
+    private static IncomeCountView row(Integer children, Double income, Long total) {
+        return new IncomeCountView() {
+            @Override
+            public Integer getChildren() {
+                return children;
+            }
+
+            @Override
+            public Double getIncome() {
+                return income;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+}
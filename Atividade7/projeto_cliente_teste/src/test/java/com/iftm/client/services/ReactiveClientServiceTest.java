@@ -0,0 +1,140 @@
+package com.iftm.client.services;
+
+import com.iftm.client.config.CacheConfig;
+import com.iftm.client.dto.ClientDTO;
+import com.iftm.client.entities.Client;
+import com.iftm.client.repositories.ReactiveClientRepository;
+import com.iftm.client.services.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ReactiveClientServiceTest {
+
+    @InjectMocks
+    private ReactiveClientService service;
+
+    @Mock
+    private ReactiveClientRepository repository;
+
+    @Mock
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    @Mock
+    private ClientNameIndex nameIndex;
+
+    @Mock
+    private IncomeHistogram incomeHistogram;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // sem banco não há transação: o operador só repassa o fluxo
+        when(reactiveTransactionalOperator.transactional(any(Mono.class))).thenAnswer(i -> i.getArgument(0));
+        when(cacheManager.getCache(CacheConfig.CLIENTS)).thenReturn(cache);
+    }
+
+    /**
+     * Verifica se o {@code findById} reativo termina com
+     * {@code ResourceNotFoundException} quando o id não existe.
+     */
+    @Test
+    void findByIdShouldErrorWhenIdDoesNotExist() {
+        // Arrange
+        when(repository.findById(1000L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(1000L).block());
+    }
+
+    /**
+     * Verifica se o {@code update} reativo grava o cliente e atualiza o cache,
+     * o índice de nomes e o histograma de rendas.
+     */
+    @Test
+    void updateShouldSaveAndRefreshInMemoryStructures() {
+        // Arrange
+        Client existing = new Client(1L, "John Doe", "12345678901", 3000.0,
+                Instant.parse("1990-01-01T00:00:00Z"), 2);
+        ClientDTO dto = new ClientDTO(null, "Jane Doe", "12345678901", 4000.0,
+                Instant.parse("1990-01-01T00:00:00Z"), 3);
+        when(repository.findById(1L)).thenReturn(Mono.just(existing));
+        when(repository.save(any(Client.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        // Act
+        ClientDTO result = service.update(1L, dto).block();
+
+        // Assert
+        Assertions.assertEquals("Jane Doe", result.getName());
+        verify(cache).evict(1L);
+        verify(nameIndex).put(1L, "jane doe");
+        verify(incomeHistogram).remove(3000.0, 2);
+        verify(incomeHistogram).add(4000.0, 3);
+    }
+
+    /**
+     * Verifica se o {@code update} reativo, sem precondição, relê a linha e
+     * repete a gravação quando outra escrita muda a versão no meio, em vez de
+     * terminar com {@code PreconditionFailedException}.
+     */
+    @Test
+    void updateShouldRetryWhenConcurrentlyModified() {
+        // Arrange
+        Client stale = new Client(1L, "John Doe", "12345678901", 3000.0,
+                Instant.parse("1990-01-01T00:00:00Z"), 2);
+        Client current = new Client(1L, "John Doe", "12345678901", 3500.0,
+                Instant.parse("1990-01-01T00:00:00Z"), 1);
+        ClientDTO dto = new ClientDTO(null, "Jane Doe", "12345678901", 4000.0,
+                Instant.parse("1990-01-01T00:00:00Z"), 3);
+        when(repository.findById(1L)).thenReturn(Mono.just(stale), Mono.just(current));
+        when(repository.save(any(Client.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")))
+                .thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        // Act
+        ClientDTO result = service.update(1L, dto).block();
+
+        // Assert
+        Assertions.assertEquals(4000.0, result.getIncome());
+        verify(repository, times(2)).findById(1L);
+        verify(incomeHistogram).remove(3500.0, 1);
+        verify(incomeHistogram, never()).remove(3000.0, 2);
+        verify(incomeHistogram).add(4000.0, 3);
+    }
+
+    /**
+     * Verifica se o {@code delete} reativo termina com
+     * {@code ResourceNotFoundException} e não apaga nada quando o id não existe.
+     */
+    @Test
+    void deleteShouldErrorWhenIdDoesNotExist() {
+        // Arrange
+        when(repository.findById(1000L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.delete(1000L).block());
+        verify(repository, never()).delete(any());
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.iftm.client.support;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Linha de base de uma carga do {@link MockMvcLoadRun}, guardada em um arquivo
+ * {@code .properties} versionado com, por endpoint, a vazão
+ * ({@code <endpoint>.throughput}, em req/s) e o p90 ({@code <endpoint>.p90},
+ * em ms). A comparação falha quando a vazão cai ou o p90 sobe mais do que a
+ * tolerância em relação à linha de base. O p99 não entra: com algumas centenas
+ * de amostras por endpoint ele é decidido por duas ou três requisições, e uma
+ * pausa de GC já o derruba.
+ */
+public final class LoadBaseline {
+
+    private final Path file;
+    private final Properties values = new Properties();
+
+    private LoadBaseline(Path file) {
+        this.file = file;
+    }
+
+    public static LoadBaseline load(Path file) throws IOException {
+        LoadBaseline baseline = new LoadBaseline(file);
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                baseline.values.load(reader);
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Verifica os resultados contra a linha de base, listando todas as
+     * regressões de uma vez.
+     *
+     * @param tolerance Fração aceita de piora: com 0.5, a vazão pode cair até
+     *                  50% e o p90 subir até 50%.
+     */
+    public void assertNoRegression(Map<String, MockMvcLoadRun.Result> results, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        results.forEach((endpoint, result) -> {
+            String throughput = values.getProperty(endpoint + ".throughput");
+            String p90 = values.getProperty(endpoint + ".p90");
+            if (throughput == null || p90 == null) {
+                fail("No baseline for " + endpoint + " in " + file
+                        + "; run the load test with -Dclient.load.update-baseline=true to record it");
+            }
+            double minThroughput = Double.parseDouble(throughput) * (1 - tolerance);
+            double maxP90 = Double.parseDouble(p90) * (1 + tolerance);
+            if (result.getThroughput() < minThroughput) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.1f req/s < %.1f (baseline %s)",
+                        endpoint, result.getThroughput(), minThroughput, throughput));
+            }
+            if (result.getP90() > maxP90) {
+                regressions.add(String.format(Locale.ROOT, "%s p90 %.2f ms > %.2f (baseline %s)",
+                        endpoint, result.getP90(), maxP90, p90));
+            }
+        });
+        assertTrue(regressions.isEmpty(), () -> "Performance regression against " + file + ":\n"
+                + String.join("\n", regressions));
+    }
+
+    /**
+     * Substitui a linha de base pelos resultados medidos. As chaves são
+     * gravadas em ordem, sem data, para o diff ficar legível.
+     */
+    public void update(Map<String, MockMvcLoadRun.Result> results, String comment) throws IOException {
+        values.clear();
+        results.forEach((endpoint, result) -> {
+            values.put(endpoint + ".throughput", String.format(Locale.ROOT, "%.1f", result.getThroughput()));
+            values.put(endpoint + ".p90", String.format(Locale.ROOT, "%.2f", result.getP90()));
+        });
+        List<String> lines = new ArrayList<>();
+        lines.add("# " + comment);
+        new TreeMap<>(values).forEach((key, value) -> lines.add(key + "=" + value));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.iftm.client.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Carga em laço fechado sobre o {@link MockMvc}, no mesmo formato do
+ * {@code LoadTest} do módulo benchmarks: {@code concurrency} threads fazem
+ * requisições seguidas, alternando entre os endpoints informados, primeiro
+ * durante o aquecimento (descartado) e depois durante a medição. O resultado
+ * traz, por endpoint, a vazão, os percentis de latência e a quantidade de
+ * respostas com status de erro.
+ */
+public final class MockMvcLoadRun {
+
+    private final MockMvc mockMvc;
+    private final Map<String, Supplier<RequestBuilder>> endpoints = new LinkedHashMap<>();
+    private int concurrency = 4;
+    private Duration warmup = Duration.ofSeconds(2);
+    private Duration duration = Duration.ofSeconds(5);
+
+    public MockMvcLoadRun(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    /**
+     * Adiciona um endpoint. O fornecedor é chamado a cada requisição e pode
+     * variar os parâmetros (ids, páginas...).
+     */
+    public MockMvcLoadRun endpoint(String name, Supplier<RequestBuilder> request) {
+        endpoints.put(name, request);
+        return this;
+    }
+
+    public MockMvcLoadRun concurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public MockMvcLoadRun warmup(Duration warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    public MockMvcLoadRun duration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    public Map<String, Result> run() throws Exception {
+        // aquecimento para JIT, caches e pool de conexões
+        execute(System.nanoTime() + warmup.toNanos(), new AtomicLongArray(endpoints.size()));
+
+        AtomicLongArray errors = new AtomicLongArray(endpoints.size());
+        long start = System.nanoTime();
+        List<List<List<Long>>> samples = execute(start + duration.toNanos(), errors);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        int index = 0;
+        for (String name : endpoints.keySet()) {
+            List<Long> all = new ArrayList<>();
+            for (List<List<Long>> worker : samples) {
+                all.addAll(worker.get(index));
+            }
+            long[] latencies = all.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(latencies);
+            results.put(name, new Result(latencies.length, errors.get(index), latencies.length / elapsed,
+                    percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99)));
+            index++;
+        }
+        return results;
+    }
+
+    private List<List<List<Long>>> execute(long deadline, AtomicLongArray errors) throws Exception {
+        List<Supplier<RequestBuilder>> requests = new ArrayList<>(endpoints.values());
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<List<List<Long>>>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int first = i;
+                workers.add(pool.submit(() -> {
+                    List<List<Long>> samples = new ArrayList<>();
+                    requests.forEach(r -> samples.add(new ArrayList<>()));
+                    // cada thread começa em um endpoint diferente
+                    for (int n = first; System.nanoTime() < deadline; n++) {
+                        int endpoint = n % requests.size();
+                        long t0 = System.nanoTime();
+                        int status = mockMvc.perform(requests.get(endpoint).get()).andReturn().getResponse()
+                                .getStatus();
+                        samples.get(endpoint).add(System.nanoTime() - t0);
+                        if (status >= 400) {
+                            errors.incrementAndGet(endpoint);
+                        }
+                    }
+                    return samples;
+                }));
+            }
+            List<List<List<Long>>> all = new ArrayList<>();
+            for (Future<List<List<Long>>> worker : workers) {
+                all.add(worker.get());
+            }
+            return all;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    /**
+     * Resultado de um endpoint. Latências em milissegundos, vazão em
+     * requisições por segundo.
+     */
+    public static final class Result {
+
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50;
+        private final double p90;
+        private final double p99;
+
+        Result(long requests, long errors, double throughput, double p50, double p90, double p99) {
+            this.requests = requests;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d throughput=%.1f req/s p50=%.2f ms p90=%.2f ms p99=%.2f ms",
+                    requests, errors, throughput, p50, p90, p99);
+        }
+    }
+
+}
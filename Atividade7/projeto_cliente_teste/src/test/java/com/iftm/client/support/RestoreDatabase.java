@@ -0,0 +1,26 @@
+package com.iftm.client.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Para testes que fazem commit no banco (sem {@code @Transactional}): o banco
+ * populado pelo {@code import.sql} é restaurado depois de cada teste, sem
+ * recriar o contexto Spring. Ver {@link DatabaseSnapshotExtension}.
+ * <p>
+ * A classe roda isolada das demais, que podem estar usando o mesmo banco pelo
+ * contexto em cache.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Isolated
+@ExtendWith(DatabaseSnapshotExtension.class)
+public @interface RestoreDatabase {
+}
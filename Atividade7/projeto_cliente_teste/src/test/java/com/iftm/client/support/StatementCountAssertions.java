@@ -0,0 +1,59 @@
+package com.iftm.client.support;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import com.iftm.client.metrics.SqlStatementCounter;
+
+/**
+ * Asserções sobre a quantidade de comandos SQL executados por um trecho de
+ * código, contados pelo {@code StatementCountingDataSource}. Falham quando uma
+ * mudança transforma uma consulta em várias (N+1, carga preguiçosa em laço,
+ * contagem duplicada...).
+ * <p>
+ * Nos testes {@code @DataJpaTest} é preciso importar o
+ * {@code SqlCountingConfig}; nos {@code @SpringBootTest} ele já está no
+ * contexto.
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    /**
+     * Executa a ação e verifica que ela não passou de {@code max} comandos SQL.
+     *
+     * @return O resultado da ação.
+     */
+    public static <T> T assertMaxStatements(SqlStatementCounter counter, long max, ThrowingSupplier<T> action)
+            throws Throwable {
+        counter.reset();
+        T result = action.get();
+        long executed = counter.getStatements();
+        assertTrue(executed <= max, () -> "Expected at most " + max + " SQL statements, but " + executed
+                + " were executed (" + counter.getRows() + " rows read)");
+        return result;
+    }
+
+    public static void assertMaxStatements(SqlStatementCounter counter, long max, Executable action)
+            throws Throwable {
+        assertMaxStatements(counter, max, () -> {
+            action.execute();
+            return null;
+        });
+    }
+
+    /**
+     * Executa a ação e verifica que ela não passou de {@code max} linhas lidas
+     * do banco.
+     */
+    public static void assertMaxRows(SqlStatementCounter counter, long max, Executable action) throws Throwable {
+        counter.reset();
+        action.execute();
+        long read = counter.getRows();
+        assertTrue(read <= max, () -> "Expected at most " + max + " rows read, but " + read + " were read");
+    }
+
+}
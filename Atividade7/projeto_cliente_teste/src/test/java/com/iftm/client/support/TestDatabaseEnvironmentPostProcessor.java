@@ -0,0 +1,33 @@
+package com.iftm.client.support;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Dá a cada contexto Spring criado nos testes o seu próprio banco H2 em
+ * memória ({@code testdb-1}, {@code testdb-2}, ...), usado tanto pelo JDBC
+ * quanto pelo R2DBC. Assim as suítes que rodam em paralelo nunca criam,
+ * populam ou apagam as tabelas umas das outras. Registrado em
+ * {@code META-INF/spring.factories} dos testes; fora deles o banco continua
+ * sendo {@code testdb}.
+ */
+public class TestDatabaseEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final AtomicInteger CONTEXTS = new AtomicInteger();
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.containsProperty("client.test.db-name")) {
+            return;
+        }
+        String name = "testdb-" + CONTEXTS.incrementAndGet();
+        environment.getPropertySources()
+                .addFirst(new MapPropertySource("testDatabase", Map.of("client.test.db-name", name)));
+    }
+
+}
@@ -1,36 +1,107 @@
 package org.iftm.gerenciadorveterinarios.controller;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.iftm.gerenciadorveterinarios.entities.Veterinario;
-import org.iftm.gerenciadorveterinarios.repositories.VeterinarioRepository;
 import org.iftm.gerenciadorveterinarios.servicies.VeterinarioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 @Controller
 public class HomeController {
 
+	// Colunas da tabela que podem ser usadas na ordenação (parâmetro sort), com os
+	// rótulos das opções crescente e decrescente do seletor de ordenação
+	private static final Map<String, String[]> ORDENAVEIS = new LinkedHashMap<>();
+	static {
+		ORDENAVEIS.put("nome", new String[] { "Nome (A-Z)", "Nome (Z-A)" });
+		ORDENAVEIS.put("especialidade", new String[] { "Especialidade (A-Z)", "Especialidade (Z-A)" });
+		ORDENAVEIS.put("email", new String[] { "Email (A-Z)", "Email (Z-A)" });
+		ORDENAVEIS.put("salario", new String[] { "Menor salário", "Maior salário" });
+	}
+
+	// Opções do seletor (valor do parâmetro sort -> rótulo), uma por coluna e direção,
+	// para que qualquer ordenação aceita apareça selecionada
+	private static final Map<String, String> ORDENACOES = new LinkedHashMap<>();
+	static {
+		ORDENAVEIS.forEach((coluna, rotulos) -> {
+			ORDENACOES.put(coluna + ",asc", rotulos[0]);
+			ORDENACOES.put(coluna + ",desc", rotulos[1]);
+		});
+	}
+
 	// O método abaixo faz injeção de dependência da classe Repository
 	@Autowired
 	private VeterinarioService servico;
 
 	// Método responsável em mapear a requisição /home
-	// Ele pode receber o parâmetro nome, caso tenha sido chamado pela função de pesquisa.
+	// Ele pode receber os parâmetros nome, especialidade, salarioMin e salarioMax, caso
+	// tenha sido chamado pela função de pesquisa.
+	// Mostra uma página por vez: parâmetros page (a partir de 0), size e sort (ex.: sort=salario,desc).
+	// Responde 304 sem consultar o banco quando o navegador já tem a página da versão
+	// atual do cadastro (If-None-Match).
 	@GetMapping("/home")
-	public String home(@RequestParam(value = "nome", required = false) Optional<String> nome, Model model) {
-		List<Veterinario> veterinarios;
-		if (nome.isPresent()) {
-			veterinarios = servico.buscaVeterinariosComParteNome(nome.get());
-		} else {
-			veterinarios = servico.buscaTodosVeterinarios();
+	public String home(@RequestParam(value = "nome", required = false) Optional<String> nome,
+			@RequestParam(value = "especialidade", required = false) Optional<String> especialidade,
+			@RequestParam(value = "salarioMin", required = false) Optional<BigDecimal> salarioMin,
+			@RequestParam(value = "salarioMax", required = false) Optional<BigDecimal> salarioMax,
+			@PageableDefault(size = 20, sort = "nome") Pageable pageable, Model model, WebRequest request, HttpServletResponse response) {
+		// o navegador sempre revalida, mas só baixa a página de novo se o cadastro mudou
+		response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+		if (request.checkNotModified(String.valueOf(servico.versaoCadastro()))) {
+			return null;
 		}
-		model.addAttribute("veterinarios", veterinarios);
+		Pageable pagina = ordenacaoPermitida(pageable);
+		Page<Veterinario> veterinarios = servico.pesquisar(nome.orElse(null), especialidade.orElse(null),
+				salarioMin.orElse(null), salarioMax.orElse(null), pagina);
+		// página depois da última (link antigo, filtro mais restrito): mostra a última
+		if (veterinarios.getTotalPages() > 0 && veterinarios.getNumber() >= veterinarios.getTotalPages()) {
+			pagina = PageRequest.of(veterinarios.getTotalPages() - 1, pagina.getPageSize(), pagina.getSort());
+			veterinarios = servico.pesquisar(nome.orElse(null), especialidade.orElse(null),
+					salarioMin.orElse(null), salarioMax.orElse(null), pagina);
+		}
+		Sort.Order ordem = pagina.getSort().iterator().next();
+		model.addAttribute("veterinarios", veterinarios.getContent());
+		model.addAttribute("pagina", veterinarios);
+		// filtros da pesquisa, repetidos nos links de paginação e ordenação
+		model.addAttribute("nome", nome.orElse(""));
+		model.addAttribute("especialidade", especialidade.orElse(""));
+		model.addAttribute("salarioMin", salarioMin.map(BigDecimal::toPlainString).orElse(""));
+		model.addAttribute("salarioMax", salarioMax.map(BigDecimal::toPlainString).orElse(""));
+		model.addAttribute("ordem", ordem.getProperty() + "," + ordem.getDirection().name().toLowerCase());
+		model.addAttribute("ordenacoes", ORDENACOES);
 		return "home";
 	}
 
+	// Descarta ordenações por colunas fora da tabela e usa o id como desempate,
+	// para a mesma linha não aparecer em duas páginas
+	private Pageable ordenacaoPermitida(Pageable pageable) {
+		List<Sort.Order> ordens = new ArrayList<>();
+		for (Sort.Order ordem : pageable.getSort()) {
+			if (ORDENAVEIS.containsKey(ordem.getProperty())) {
+				ordens.add(ordem);
+			}
+		}
+		Sort sort = ordens.isEmpty() ? Sort.by("nome") : Sort.by(ordens);
+		return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by("id")));
+	}
+
 }
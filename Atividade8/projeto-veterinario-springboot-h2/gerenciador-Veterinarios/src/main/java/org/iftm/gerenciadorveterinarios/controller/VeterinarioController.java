@@ -52,19 +52,18 @@ public class VeterinarioController {
     	}
     }
 
-    // faz o mapeamento da requisição update. Atualiza veterinario
+    // faz o mapeamento da requisição update. Atualiza veterinario com um único UPDATE;
+    // um id inexistente não altera nada
     @PostMapping("update/{id}")
     public String alterarProduto(Veterinario veterinario, @PathVariable int id) {
-        servico.salvar(veterinario);
+        servico.atualizar(id, veterinario);
         return "redirect:/home";
     }
 
+    // Exclui com um único DELETE, sem buscar o veterinário antes
     @GetMapping("delete/{id}")
     public String delete(@PathVariable int id) {  
-    	Optional<Veterinario> veterinario = servico.buscaVeterinariosPeloId(id);
-    	if (veterinario.isPresent()) {
-            servico.apagar(veterinario.get());
-    	}        
+        servico.apagarPorId(id);
         return "redirect:/home";
     }
 
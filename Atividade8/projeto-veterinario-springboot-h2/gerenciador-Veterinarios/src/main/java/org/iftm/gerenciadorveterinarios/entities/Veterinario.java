@@ -8,7 +8,9 @@ import javax.persistence.*;
 
 
 @Entity
-@Table(name = "tb_veterinario")
+@Table(name = "tb_veterinario", indexes = {
+        @Index(name = "idx_veterinario_especialidade_salario", columnList = "especialidade_busca, salario"),
+        @Index(name = "idx_veterinario_salario", columnList = "salario") })
 public class Veterinario {
     
     @Id
@@ -19,6 +21,12 @@ public class Veterinario {
     private String email;
     private String especialidade;
     private BigDecimal salario;
+
+    // nome e especialidade normalizados pelo Normalizador, usados nas buscas
+    @Column(name = "nome_busca")
+    private String nomeBusca;
+    @Column(name = "especialidade_busca")
+    private String especialidadeBusca;
     
     public Veterinario() {
     }
@@ -26,8 +34,10 @@ public class Veterinario {
     public Veterinario(Integer id, String nome, String email, String especialidade, BigDecimal salario) {
         this.id = id;
         this.nome = nome;
+        this.nomeBusca = Normalizador.normalizar(nome);
         this.email = email;
         this.especialidade = especialidade;
+        this.especialidadeBusca = Normalizador.normalizar(especialidade);
         this.salario = salario;
     }
 
@@ -45,6 +55,11 @@ public class Veterinario {
 
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeBusca = Normalizador.normalizar(nome);
+    }
+
+    public String getNomeBusca() {
+        return nomeBusca;
     }
 
     public String getEmail() {
@@ -61,6 +76,11 @@ public class Veterinario {
 
     public void setEspecialidade(String especialidade) {
         this.especialidade = especialidade;
+        this.especialidadeBusca = Normalizador.normalizar(especialidade);
+    }
+
+    public String getEspecialidadeBusca() {
+        return especialidadeBusca;
     }
 
     public BigDecimal getSalario() {
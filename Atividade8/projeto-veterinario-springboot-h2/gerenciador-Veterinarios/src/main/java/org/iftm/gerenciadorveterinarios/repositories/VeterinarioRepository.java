@@ -1,12 +1,34 @@
 package org.iftm.gerenciadorveterinarios.repositories;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.iftm.gerenciadorveterinarios.entities.Veterinario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
-public interface VeterinarioRepository extends JpaRepository<Veterinario, Integer> {
+public interface VeterinarioRepository extends JpaRepository<Veterinario, Integer>,
+        JpaSpecificationExecutor<Veterinario> {
 
-   public List<Veterinario> findByNomeContains(String nome);
+   // Parte do nome já normalizada (ver Normalizador)
+   public List<Veterinario> findByNomeBuscaContains(String nomeBusca);
+
+   // Exclusão em um único DELETE, sem carregar a entidade antes; devolve as linhas removidas
+   @Modifying
+   @Query("delete from Veterinario v where v.id = :id")
+   public int apagarPorId(@Param("id") Integer id);
+
+   // Alteração em um único UPDATE, sem o SELECT do merge; devolve as linhas alteradas.
+   // Os campos de busca recebem os valores já normalizados.
+   @Modifying
+   @Query("update Veterinario v set v.nome = :nome, v.nomeBusca = :nomeBusca, v.email = :email, "
+           + "v.especialidade = :especialidade, v.especialidadeBusca = :especialidadeBusca, "
+           + "v.salario = :salario where v.id = :id")
+   public int atualizar(@Param("id") Integer id, @Param("nome") String nome, @Param("nomeBusca") String nomeBusca,
+           @Param("email") String email, @Param("especialidade") String especialidade,
+           @Param("especialidadeBusca") String especialidadeBusca, @Param("salario") BigDecimal salario);
 }
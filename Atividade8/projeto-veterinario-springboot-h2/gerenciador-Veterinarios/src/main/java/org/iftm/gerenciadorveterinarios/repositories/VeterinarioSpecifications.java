@@ -0,0 +1,43 @@
+package org.iftm.gerenciadorveterinarios.repositories;
+
+import java.math.BigDecimal;
+
+import org.iftm.gerenciadorveterinarios.entities.Normalizador;
+import org.iftm.gerenciadorveterinarios.entities.Veterinario;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros da pesquisa de veterinários. Cada filtro só entra na consulta quando
+ * informado, assim o banco pode usar o índice (especialidade_busca, salario)
+ * em vez de avaliar condições do tipo "parâmetro nulo OU coluna = parâmetro".
+ */
+public final class VeterinarioSpecifications {
+
+    private VeterinarioSpecifications() {
+    }
+
+    // Parte do nome, sem diferenciar maiúsculas de minúsculas nem acentos
+    public static Specification<Veterinario> nomeContem(String termo) {
+        String normalizado = Normalizador.normalizar(termo);
+        return (root, query, cb) -> cb.like(root.get("nomeBusca"), "%" + escaparLike(normalizado) + "%", '\\');
+    }
+
+    // Especialidade exata, sem diferenciar maiúsculas de minúsculas nem acentos
+    public static Specification<Veterinario> especialidadeIgual(String especialidade) {
+        String normalizada = Normalizador.normalizar(especialidade);
+        return (root, query, cb) -> cb.equal(root.get("especialidadeBusca"), normalizada);
+    }
+
+    public static Specification<Veterinario> salarioMinimo(BigDecimal minimo) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("salario"), minimo);
+    }
+
+    public static Specification<Veterinario> salarioMaximo(BigDecimal maximo) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("salario"), maximo);
+    }
+
+    // % e _ digitados na pesquisa são procurados literalmente
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,22 +1,40 @@
 package org.iftm.gerenciadorveterinarios.servicies;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.iftm.gerenciadorveterinarios.entities.Normalizador;
 import org.iftm.gerenciadorveterinarios.entities.Veterinario;
 import org.iftm.gerenciadorveterinarios.repositories.VeterinarioRepository;
+import org.iftm.gerenciadorveterinarios.repositories.VeterinarioSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class VeterinarioService {
     @Autowired
     private VeterinarioRepository repositorio;
 
+    // Versão do cadastro: muda a cada gravação ou exclusão confirmada. Começa no
+    // horário de subida para não repetir valores de uma execução anterior.
+    private final AtomicLong versaoCadastro = new AtomicLong(System.currentTimeMillis());
+
+    // Usada como ETag da listagem (/home); só enxerga gravações feitas por esta instância
+    public long versaoCadastro(){
+        return versaoCadastro.get();
+    }
+
     @Transactional(readOnly = true)
     public List<Veterinario> buscaVeterinariosComParteNome(String nome){
-        return repositorio.findByNomeContains(nome);
+        return repositorio.findByNomeBuscaContains(Normalizador.normalizar(nome));
     }
 
     @Transactional(readOnly = true)
@@ -29,13 +47,73 @@ public class VeterinarioService {
         return repositorio.findAll();
     }
 
+    // Uma página da pesquisa de veterinários. Nome (parte) e especialidade (exata)
+    // não diferenciam maiúsculas de minúsculas nem acentos; o salário é uma faixa
+    // fechada. Filtros vazios ou nulos são ignorados.
+    @Transactional(readOnly = true)
+    public Page<Veterinario> pesquisar(String nome, String especialidade, BigDecimal salarioMinimo,
+            BigDecimal salarioMaximo, Pageable pagina){
+        Specification<Veterinario> filtro = Specification.where(null);
+        if (informado(nome)) {
+            filtro = filtro.and(VeterinarioSpecifications.nomeContem(nome));
+        }
+        if (informado(especialidade)) {
+            filtro = filtro.and(VeterinarioSpecifications.especialidadeIgual(especialidade));
+        }
+        if (salarioMinimo != null) {
+            filtro = filtro.and(VeterinarioSpecifications.salarioMinimo(salarioMinimo));
+        }
+        if (salarioMaximo != null) {
+            filtro = filtro.and(VeterinarioSpecifications.salarioMaximo(salarioMaximo));
+        }
+        return repositorio.findAll(filtro, pagina);
+    }
+
     @Transactional
     public Veterinario salvar(Veterinario veterinario){
-        return repositorio.save(veterinario);
+        Veterinario salvo = repositorio.save(veterinario);
+        aposCommit(versaoCadastro::incrementAndGet);
+        return salvo;
     }
 
+    // Altera o veterinário do id informado com os dados do formulário em um só UPDATE.
+    // Devolve false se o id não existir.
     @Transactional
-    public void apagar(Veterinario veterinario){
-        repositorio.delete(veterinario);
+    public boolean atualizar(int id, Veterinario dados){
+        int alterados = repositorio.atualizar(id, dados.getNome(), dados.getNomeBusca(), dados.getEmail(),
+                dados.getEspecialidade(), dados.getEspecialidadeBusca(), dados.getSalario());
+        if (alterados > 0) {
+            aposCommit(versaoCadastro::incrementAndGet);
+        }
+        return alterados > 0;
+    }
+
+    // Remove o veterinário do id informado em um só DELETE. Devolve false se o id não existir.
+    @Transactional
+    public boolean apagarPorId(int id){
+        int removidos = repositorio.apagarPorId(id);
+        if (removidos > 0) {
+            aposCommit(versaoCadastro::incrementAndGet);
+        }
+        return removidos > 0;
+    }
+
+    // Executa a ação depois do commit da transação corrente, ou na hora se não houver
+    // transação, para que a versão só mude quando a alteração já estiver visível
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private static boolean informado(String texto) {
+        return texto != null && !texto.trim().isEmpty();
     }
 }
@@ -1,2 +1,2 @@
-INSERT INTO tb_veterinario (nome, email, especialidade, salario) VALUES('Conceição Evaristo', 'conceicao@gmail.com', 'pequenos', 3500.0);
-INSERT INTO tb_veterinario (nome, email, especialidade, salario) VALUES('Erica Queiroz Pinto', 'erica@gmail.com', 'grandes', 4500.0);
+INSERT INTO tb_veterinario (nome, email, especialidade, salario, nome_busca, especialidade_busca) VALUES('Conceição Evaristo', 'conceicao@gmail.com', 'pequenos', 3500.0, 'conceicao evaristo', 'pequenos');
+INSERT INTO tb_veterinario (nome, email, especialidade, salario, nome_busca, especialidade_busca) VALUES('Erica Queiroz Pinto', 'erica@gmail.com', 'grandes', 4500.0, 'erica queiroz pinto', 'grandes');
@@ -0,0 +1,90 @@
+package org.iftm.gerenciadorveterinarios.controller;
+
+import org.iftm.gerenciadorveterinarios.entities.Veterinario;
+import org.iftm.gerenciadorveterinarios.servicies.VeterinarioService;
+import org.iftm.gerenciadorveterinarios.support.RestoreDatabase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do GET condicional da listagem (/home) com MockMvc
+ * 
+ * Cenários testados:
+ * 1. A listagem é enviada com ETag e Cache-Control: no-cache
+ * 2. Com o mesmo ETag em If-None-Match, a resposta é 304 sem corpo
+ * 3. Depois de um cadastro, o ETag muda e a página é enviada de novo
+ * 4. Depois de uma exclusão pelo id, o ETag também muda
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RestoreDatabase
+class HomeControllerCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VeterinarioService servico;
+
+    @Test
+    @DisplayName("Cenário 1: listagem com ETag e revalidação obrigatória")
+    void testListagemComEtag() throws Exception {
+        mockMvc.perform(get("/home"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    @DisplayName("Cenário 2: 304 quando o navegador já tem a versão atual")
+    void testNaoModificado() throws Exception {
+        String etag = etagDe("/home");
+
+        mockMvc.perform(get("/home").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Cenário 3: novo ETag depois de um cadastro")
+    void testEtagMudaAposCadastro() throws Exception {
+        String etag = etagDe("/home");
+
+        servico.salvar(new Veterinario(null, "Dr. Cache", "cache@teste.com", "Clínica", new BigDecimal("1000.00")));
+
+        String novoEtag = mockMvc.perform(get("/home").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Dr. Cache")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novoEtag);
+    }
+
+    @Test
+    @DisplayName("Cenário 4: novo ETag depois de uma exclusão")
+    void testEtagMudaAposExclusao() throws Exception {
+        String etag = etagDe("/home");
+
+        servico.apagarPorId(1);
+
+        mockMvc.perform(get("/home").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String etagDe(String url) throws Exception {
+        return mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
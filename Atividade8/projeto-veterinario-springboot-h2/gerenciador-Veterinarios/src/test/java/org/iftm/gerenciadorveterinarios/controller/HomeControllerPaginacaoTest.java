@@ -0,0 +1,116 @@
+package org.iftm.gerenciadorveterinarios.controller;
+
+import org.iftm.gerenciadorveterinarios.entities.Veterinario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da paginação e da ordenação da listagem (/home) com MockMvc, sobre os
+ * dois veterinários do import.sql (Conceição Evaristo, R$ 3500, e Erica
+ * Queiroz Pinto, R$ 4500)
+ * 
+ * Cenários testados:
+ * 1. Parâmetros page e size escolhem a página mostrada
+ * 2. Ordenação por coluna permitida, com o id como desempate
+ * 3. Ordenação por coluna fora da tabela é descartada (volta para o nome)
+ * 4. Página depois da última mostra a última página
+ * 5. Página negativa e size acima do limite são ajustados
+ * 6. Seletor de ordenação com todas as opções e a atual selecionada
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HomeControllerPaginacaoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Cenário 1: page e size escolhem a página")
+    void testPaginaESize() throws Exception {
+        Page<Veterinario> pagina = paginaDe("/home?size=1&page=1&sort=nome,asc");
+
+        assertEquals(1, pagina.getNumber());
+        assertEquals(1, pagina.getSize());
+        assertEquals(2, pagina.getTotalPages());
+        assertEquals(List.of("Erica Queiroz Pinto"), nomes(pagina));
+    }
+
+    @Test
+    @DisplayName("Cenário 2: ordenação permitida com desempate pelo id")
+    void testOrdenacaoPermitida() throws Exception {
+        Page<Veterinario> pagina = paginaDe("/home?sort=salario,desc");
+
+        assertEquals(Sort.by(Sort.Order.desc("salario"), Sort.Order.asc("id")), pagina.getSort());
+        assertEquals(List.of("Erica Queiroz Pinto", "Conceição Evaristo"), nomes(pagina));
+    }
+
+    @Test
+    @DisplayName("Cenário 3: ordenação por coluna fora da tabela é descartada")
+    void testOrdenacaoRejeitada() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/home?sort=senha,desc"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("ordem", "nome,asc"))
+                .andReturn();
+        Page<?> pagina = (Page<?>) resultado.getModelAndView().getModel().get("pagina");
+
+        assertEquals(Sort.by(Sort.Order.asc("nome"), Sort.Order.asc("id")), pagina.getSort());
+    }
+
+    @Test
+    @DisplayName("Cenário 4: página depois da última mostra a última")
+    void testPaginaForaDoIntervalo() throws Exception {
+        Page<Veterinario> pagina = paginaDe("/home?size=1&page=99&sort=nome,asc");
+
+        assertEquals(1, pagina.getNumber());
+        assertEquals(List.of("Erica Queiroz Pinto"), nomes(pagina));
+    }
+
+    @Test
+    @DisplayName("Cenário 5: página negativa e size acima do limite")
+    void testLimitesDePaginaESize() throws Exception {
+        Page<Veterinario> pagina = paginaDe("/home?page=-1&size=500");
+
+        assertEquals(0, pagina.getNumber());
+        assertEquals(100, pagina.getSize());
+        assertEquals(2, pagina.getNumberOfElements());
+    }
+
+    @Test
+    @DisplayName("Cenário 6: seletor com todas as ordenações aceitas")
+    void testSeletorDeOrdenacao() throws Exception {
+        mockMvc.perform(get("/home?sort=email,desc"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<option value=\"email,desc\" selected=\"selected\">")))
+                .andExpect(content().string(containsString("<option value=\"especialidade,asc\">")))
+                .andExpect(content().string(containsString("<option value=\"salario,desc\">")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Page<Veterinario> paginaDe(String url) throws Exception {
+        MvcResult resultado = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+        return (Page<Veterinario>) resultado.getModelAndView().getModel().get("pagina");
+    }
+
+    private static List<String> nomes(Page<Veterinario> pagina) {
+        return pagina.getContent().stream().map(Veterinario::getNome).collect(Collectors.toList());
+    }
+}
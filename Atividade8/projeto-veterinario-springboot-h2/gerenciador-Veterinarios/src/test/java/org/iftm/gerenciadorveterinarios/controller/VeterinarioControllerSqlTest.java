@@ -0,0 +1,101 @@
+package org.iftm.gerenciadorveterinarios.controller;
+
+import org.iftm.gerenciadorveterinarios.entities.Veterinario;
+import org.iftm.gerenciadorveterinarios.repositories.VeterinarioRepository;
+import org.iftm.gerenciadorveterinarios.support.ContadorSql;
+import org.iftm.gerenciadorveterinarios.support.RestoreDatabase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da quantidade de comandos SQL por requisição na exclusão e na
+ * alteração, contados pelo ContadorSql
+ * 
+ * Cenários testados:
+ * 1. Exclusão com um único DELETE
+ * 2. Exclusão de id inexistente também com um único comando
+ * 3. Alteração com um único UPDATE, incluindo os campos de busca
+ * 4. Formulário de edição com um único SELECT
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RestoreDatabase
+class VeterinarioControllerSqlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VeterinarioRepository repositorio;
+
+    @Test
+    @DisplayName("Cenário 1: exclusão com um único comando")
+    void testExcluirComUmComando() throws Exception {
+        int comandos = comandosDe(get("/delete/{id}", 1));
+
+        assertEquals(1, comandos);
+        assertFalse(repositorio.existsById(1));
+    }
+
+    @Test
+    @DisplayName("Cenário 2: exclusão de id inexistente")
+    void testExcluirInexistente() throws Exception {
+        long total = repositorio.count();
+
+        int comandos = comandosDe(get("/delete/{id}", 9999));
+
+        assertEquals(1, comandos);
+        assertEquals(total, repositorio.count());
+    }
+
+    @Test
+    @DisplayName("Cenário 3: alteração com um único comando")
+    void testAlterarComUmComando() throws Exception {
+        int comandos = comandosDe(post("/update/{id}", 1)
+                .param("nome", "Dra. Conceição Alterada")
+                .param("email", "alterada@teste.com")
+                .param("especialidade", "Cardiologia")
+                .param("salario", "4321.00"));
+
+        assertEquals(1, comandos);
+        Veterinario alterado = repositorio.findById(1).get();
+        assertEquals("Dra. Conceição Alterada", alterado.getNome());
+        assertEquals("dra. conceicao alterada", alterado.getNomeBusca());
+        assertEquals("alterada@teste.com", alterado.getEmail());
+        assertEquals("cardiologia", alterado.getEspecialidadeBusca());
+        assertEquals(0, new BigDecimal("4321.00").compareTo(alterado.getSalario()));
+    }
+
+    @Test
+    @DisplayName("Cenário 4: formulário de edição com um único comando")
+    void testFormularioEdicaoComUmComando() throws Exception {
+        ContadorSql.zerar();
+        mockMvc.perform(get("/form/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(view().name("atualizaVeterinarioForm"));
+
+        assertEquals(1, ContadorSql.comandos());
+    }
+
+    // Executa a requisição (que redireciona para a listagem) e devolve quantos
+    // comandos SQL ela enviou ao banco
+    private int comandosDe(RequestBuilder requisicao) throws Exception {
+        ContadorSql.zerar();
+        mockMvc.perform(requisicao).andExpect(status().isFound()).andExpect(redirectedUrl("/home"));
+        return ContadorSql.comandos();
+    }
+}
@@ -1,6 +1,7 @@
 package org.iftm.gerenciadorveterinarios.selenium;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.iftm.gerenciadorveterinarios.support.RestoreDatabase;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.openqa.selenium.WebDriver;
@@ -15,9 +16,11 @@ import java.util.concurrent.TimeUnit;
 /**
  * Classe base para testes Selenium WebDriver
  * Configura o ambiente de teste com Spring Boot e Selenium
+ * O banco volta aos dados do import.sql depois de cada teste
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
+@RestoreDatabase
 public abstract class BaseSeleniumTest {
 
     protected WebDriver driver;
@@ -8,6 +8,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,7 +41,7 @@ public class CadastrarVeterinarioSeleniumTest extends BaseSeleniumTest {
         botaoAdicionar.click();
 
         // 3. Aguardar carregamento da página de cadastro
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.presenceOfElementLocated(By.id("nome")));
 
         // 4. Preencher os campos do formulário
@@ -99,7 +100,7 @@ public class CadastrarVeterinarioSeleniumTest extends BaseSeleniumTest {
         botaoAdicionar.click();
 
         // 3. Aguardar carregamento da página de cadastro
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.presenceOfElementLocated(By.id("nome")));
 
         // 4. Preencher apenas o nome (deixar outros campos vazios)
@@ -150,7 +151,7 @@ public class CadastrarVeterinarioSeleniumTest extends BaseSeleniumTest {
         botaoAdicionar.click();
 
         // 3. Aguardar carregamento da página de cadastro
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.presenceOfElementLocated(By.id("nome")));
 
         // 4. Preencher os campos com email inválido
@@ -208,7 +209,7 @@ public class CadastrarVeterinarioSeleniumTest extends BaseSeleniumTest {
         botaoAdicionar.click();
 
         // 3. Aguardar carregamento da página de cadastro
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.presenceOfElementLocated(By.id("nome")));
 
         // 4. Verificar valores iniciais dos campos (devem estar vazios)
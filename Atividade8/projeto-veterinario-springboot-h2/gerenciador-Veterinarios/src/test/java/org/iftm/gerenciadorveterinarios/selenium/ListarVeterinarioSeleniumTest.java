@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
 
 import java.util.List;
 
@@ -319,4 +320,51 @@ class ListarVeterinarioSeleniumTest extends BaseSeleniumTest {
         assertTrue(driver.getCurrentUrl().contains("/find"),
                 "Botão 'Consultar' deveria navegar para a página de pesquisa");
     }
+
+    @Test
+    @DisplayName("Cenário 8: Verificar paginação da listagem")
+    void testPaginacao() {
+        // DEFINIÇÃO DO CENÁRIO
+        // Com um veterinário por página, os dois do import.sql ficam em duas páginas
+
+        // CHAMADA DA AÇÃO
+        // 1. Navegar para a primeira página, ordenada por nome
+        driver.get(baseUrl + "/home?size=1&sort=nome,asc");
+
+        // VERIFICAÇÃO DA RESPOSTA
+        // 1. Verificar se a página mostra apenas uma linha de dados
+        List<WebElement> linhasPrimeiraPagina = driver.findElements(By.xpath("//table//tr[not(@class='table-dark')]"));
+        assertEquals(1, linhasPrimeiraPagina.size(), "Deveria haver uma linha de dados por página");
+        assertTrue(linhasPrimeiraPagina.get(0).getText().contains("Conceição Evaristo"),
+                "A primeira página deveria trazer o primeiro nome em ordem alfabética");
+
+        // 2. Ir para a próxima página pelo link de navegação
+        driver.findElement(By.linkText("Próxima")).click();
+        assertTrue(driver.getCurrentUrl().contains("page=1"), "Deveria estar na segunda página");
+
+        List<WebElement> linhasSegundaPagina = driver.findElements(By.xpath("//table//tr[not(@class='table-dark')]"));
+        assertEquals(1, linhasSegundaPagina.size(), "Deveria haver uma linha de dados por página");
+        assertTrue(linhasSegundaPagina.get(0).getText().contains("Erica Queiroz Pinto"),
+                "A segunda página deveria trazer o segundo nome em ordem alfabética");
+    }
+
+    @Test
+    @DisplayName("Cenário 9: Ordenação da URL selecionada no seletor")
+    void testOrdenacaoSelecionada() {
+        // DEFINIÇÃO DO CENÁRIO
+        // Toda ordenação aceita pelo parâmetro sort tem uma opção no seletor
+
+        // CHAMADA DA AÇÃO
+        // 1. Navegar para a listagem ordenada por especialidade decrescente
+        driver.get(baseUrl + "/home?sort=especialidade,desc");
+
+        // VERIFICAÇÃO DA RESPOSTA
+        // 1. Verificar se a opção correspondente está selecionada
+        Select ordem = new Select(driver.findElement(By.id("ordem")));
+        assertEquals("especialidade,desc", ordem.getFirstSelectedOption().getAttribute("value"),
+                "O seletor deveria mostrar a ordenação da URL");
+
+        // 2. Verificar se há uma opção para cada coluna e direção aceitas
+        assertEquals(8, ordem.getOptions().size(), "Deveria haver opções crescente e decrescente por coluna");
+    }
 }
@@ -243,4 +243,39 @@ class PesquisarVeterinarioSeleniumTest extends BaseSeleniumTest {
         assertTrue(textoTabela.contains("Nome") && textoTabela.contains("Especialidade"),
                 "Tabela deveria conter as colunas esperadas");
     }
+
+    @Test
+    @DisplayName("Cenário 6: Pesquisar sem acentos e filtrar por especialidade e salário")
+    void testPesquisaSemAcentosComFiltros() {
+        // DEFINIÇÃO DO CENÁRIO
+        // "Conceição Evaristo" (pequenos, R$3500.0) deve ser encontrada digitando
+        // o nome sem acento e em maiúsculas, com a especialidade em outra grafia
+
+        // CHAMADA DA AÇÃO
+        // 1. Abrir a página de pesquisa
+        navegarParaHome();
+        driver.findElement(By.linkText("Consultar")).click();
+
+        // 2. Preencher nome, especialidade e faixa de salário
+        driver.findElement(By.id("nome")).sendKeys("CONCEICAO");
+        driver.findElement(By.id("especialidade")).sendKeys("Pequenos");
+        driver.findElement(By.id("salarioMin")).sendKeys("3000");
+        driver.findElement(By.id("salarioMax")).sendKeys("4000");
+
+        // 3. Submeter o formulário
+        driver.findElement(By.xpath("//button[@type='submit' and text()='Consultar']")).click();
+
+        // VERIFICAÇÃO DA RESPOSTA
+        // 1. Verificar se a veterinária foi encontrada e a outra não
+        String textoTabela = driver.findElement(By.className("table")).getText();
+        assertTrue(textoTabela.contains("Conceição Evaristo"),
+                "A pesquisa deveria ignorar acentos e maiúsculas");
+        assertFalse(textoTabela.contains("Erica Queiroz Pinto"),
+                "Veterinária de outra especialidade não deveria aparecer");
+
+        // 2. Fora da faixa de salário não há resultados
+        driver.get(baseUrl + "/home?especialidade=pequenos&salarioMin=4000");
+        assertFalse(driver.findElement(By.className("table")).getText().contains("Conceição Evaristo"),
+                "Veterinária fora da faixa de salário não deveria aparecer");
+    }
 }
@@ -0,0 +1,112 @@
+package org.iftm.gerenciadorveterinarios.servicies;
+
+import org.iftm.gerenciadorveterinarios.entities.Veterinario;
+import org.iftm.gerenciadorveterinarios.support.RestoreDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da pesquisa de veterinários (VeterinarioService.pesquisar) sobre o
+ * banco: os dois veterinários do import.sql (Conceição Evaristo, pequenos,
+ * R$ 3500, e Erica Queiroz Pinto, grandes, R$ 4500) e dois cadastrados antes
+ * de cada teste (JOSÉ CONCEIÇÃO, Clínica, R$ 2800, e Márcia Lopes, Clínica,
+ * R$ 6000)
+ * 
+ * Cenários testados:
+ * 1. Nome sem acentos e em minúsculas encontra nomes acentuados
+ * 2. Nome com acentos e em maiúsculas também
+ * 3. Especialidade exata, sem diferenciar acentos nem maiúsculas
+ * 4. Só salário mínimo (faixa fechada)
+ * 5. Só salário máximo (faixa fechada)
+ * 6. Salário mínimo maior que o máximo não encontra ninguém
+ * 7. Todos os filtros combinados
+ * 8. Filtros em branco são ignorados
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RestoreDatabase
+class VeterinarioServicePesquisaTest {
+
+    private static final PageRequest PAGINA = PageRequest.of(0, 20, Sort.by("nome"));
+
+    @Autowired
+    private VeterinarioService servico;
+
+    @BeforeEach
+    void cadastrar() {
+        servico.salvar(new Veterinario(null, "JOSÉ CONCEIÇÃO", "jose@teste.com", "Clínica", new BigDecimal("2800.00")));
+        servico.salvar(new Veterinario(null, "Márcia Lopes", "marcia@teste.com", "Clínica", new BigDecimal("6000.00")));
+    }
+
+    @Test
+    @DisplayName("Cenário 1: nome sem acentos encontra nomes acentuados")
+    void testNomeSemAcentos() {
+        assertEquals(List.of("Conceição Evaristo", "JOSÉ CONCEIÇÃO"), nomes("conceicao", null, null, null));
+    }
+
+    @Test
+    @DisplayName("Cenário 2: nome com acentos e em maiúsculas")
+    void testNomeComAcentosEMaiusculas() {
+        assertEquals(List.of("Conceição Evaristo", "JOSÉ CONCEIÇÃO"), nomes("CONCEIÇÃO", null, null, null));
+        assertEquals(List.of("Márcia Lopes"), nomes("marcia", null, null, null));
+    }
+
+    @Test
+    @DisplayName("Cenário 3: especialidade exata sem acentos nem maiúsculas")
+    void testEspecialidade() {
+        assertEquals(List.of("JOSÉ CONCEIÇÃO", "Márcia Lopes"), nomes(null, "CLINICA", null, null));
+        assertEquals(List.of(), nomes(null, "clin", null, null));
+    }
+
+    @Test
+    @DisplayName("Cenário 4: só salário mínimo, incluindo o valor informado")
+    void testSalarioMinimo() {
+        assertEquals(List.of("Erica Queiroz Pinto", "Márcia Lopes"), nomes(null, null, new BigDecimal("4500"), null));
+    }
+
+    @Test
+    @DisplayName("Cenário 5: só salário máximo, incluindo o valor informado")
+    void testSalarioMaximo() {
+        assertEquals(List.of("Conceição Evaristo", "JOSÉ CONCEIÇÃO"), nomes(null, null, null, new BigDecimal("3500")));
+    }
+
+    @Test
+    @DisplayName("Cenário 6: salário mínimo maior que o máximo")
+    void testFaixaInvertida() {
+        assertEquals(List.of(), nomes(null, null, new BigDecimal("5000"), new BigDecimal("3000")));
+    }
+
+    @Test
+    @DisplayName("Cenário 7: todos os filtros combinados")
+    void testFiltrosCombinados() {
+        assertEquals(List.of("JOSÉ CONCEIÇÃO"),
+                nomes("conceicao", "clinica", new BigDecimal("2000"), new BigDecimal("3000")));
+        assertEquals(List.of(), nomes("conceicao", "grandes", null, null));
+    }
+
+    @Test
+    @DisplayName("Cenário 8: filtros em branco são ignorados")
+    void testFiltrosEmBranco() {
+        Page<Veterinario> pagina = servico.pesquisar("  ", "", null, null, PAGINA);
+
+        assertEquals(4, pagina.getTotalElements());
+    }
+
+    private List<String> nomes(String nome, String especialidade, BigDecimal salarioMinimo, BigDecimal salarioMaximo) {
+        return servico.pesquisar(nome, especialidade, salarioMinimo, salarioMaximo, PAGINA).getContent().stream()
+                .map(Veterinario::getNome).collect(Collectors.toList());
+    }
+}
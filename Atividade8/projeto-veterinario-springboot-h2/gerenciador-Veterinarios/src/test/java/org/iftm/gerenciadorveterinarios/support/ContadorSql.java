@@ -0,0 +1,38 @@
+package org.iftm.gerenciadorveterinarios.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL que o Hibernate envia ao banco, por thread. Registrado
+ * no application-test.properties
+ * ({@code hibernate.session_factory.statement_inspector}); como o Hibernate cria
+ * a instância pelo nome da classe, a contagem fica em um campo estático.
+ * <p>
+ * Com o MockMvc a requisição roda na thread do teste, então
+ * {@link #zerar()} antes do {@code perform} e {@link #comandos()} depois dão os
+ * comandos gerados por aquela requisição.
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTAGEM = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONTAGEM.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Zera a contagem da thread atual.
+     */
+    public static void zerar() {
+        CONTAGEM.get()[0] = 0;
+    }
+
+    /**
+     * @return Os comandos enviados pela thread atual desde o último {@link #zerar()}.
+     */
+    public static int comandos() {
+        return CONTAGEM.get()[0];
+    }
+}
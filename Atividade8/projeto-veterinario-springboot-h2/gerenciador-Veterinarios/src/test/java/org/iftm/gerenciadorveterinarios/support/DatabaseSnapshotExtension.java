@@ -0,0 +1,93 @@
+package org.iftm.gerenciadorveterinarios.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Extensão usada por {@link RestoreDatabase}. Antes do primeiro teste que a
+ * usa, grava o banco H2 do contexto Spring em um script ({@code SCRIPT TO});
+ * depois de cada teste, recria o banco a partir dele
+ * ({@code DROP ALL OBJECTS} + {@code RUNSCRIPT FROM}) em poucos milissegundos,
+ * sem reiniciar a aplicação.
+ * <p>
+ * O script é feito uma vez por {@link DataSource}, ou seja, por contexto Spring
+ * em cache, e apagado no fim da execução.
+ */
+public class DatabaseSnapshotExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final Namespace NAMESPACE = Namespace.create(DatabaseSnapshotExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        snapshot(context);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws SQLException {
+        snapshot(context).restore();
+    }
+
+    private Snapshot snapshot(ExtensionContext context) {
+        DataSource dataSource = SpringExtension.getApplicationContext(context).getBean(DataSource.class);
+        // o store da raiz vive a execução inteira; o script é removido ao final
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(dataSource, Snapshot::take, Snapshot.class);
+    }
+
+    private static final class Snapshot implements ExtensionContext.Store.CloseableResource {
+
+        private final DataSource dataSource;
+        private final Path script;
+
+        private Snapshot(DataSource dataSource, Path script) {
+            this.dataSource = dataSource;
+            this.script = script;
+        }
+
+        static Snapshot take(Object key) {
+            DataSource dataSource = (DataSource) key;
+            try {
+                Path script = Files.createTempFile("veterinarios-db-", ".sql");
+                execute(dataSource, "SCRIPT TO " + literal(script));
+                return new Snapshot(dataSource, script);
+            } catch (IOException | SQLException e) {
+                throw new IllegalStateException("Não foi possível copiar o banco de testes", e);
+            }
+        }
+
+        void restore() throws SQLException {
+            execute(dataSource, "DROP ALL OBJECTS", "RUNSCRIPT FROM " + literal(script));
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(script);
+        }
+
+        private static void execute(DataSource dataSource, String... commands) throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                for (String command : commands) {
+                    statement.execute(command);
+                }
+            }
+        }
+
+        private static String literal(Path path) {
+            return "'" + path.toAbsolutePath().toString().replace("'", "''") + "'";
+        }
+    }
+
+}
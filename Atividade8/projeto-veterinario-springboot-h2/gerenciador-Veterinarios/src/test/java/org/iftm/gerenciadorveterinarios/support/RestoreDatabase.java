@@ -0,0 +1,26 @@
+package org.iftm.gerenciadorveterinarios.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Para testes que gravam no banco pela aplicação (como os testes Selenium, que
+ * cadastram, alteram e excluem veterinários pelo navegador): os dados do
+ * {@code import.sql} são restaurados depois de cada teste, sem recriar o
+ * contexto Spring. Ver {@link DatabaseSnapshotExtension}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@Isolated
+@ExtendWith(DatabaseSnapshotExtension.class)
+public @interface RestoreDatabase {
+}